@@ -0,0 +1,23 @@
+#!/bin/bash
+
+# Runs the JMH benchmarks with the GC profiler and stores the results as JSON,
+# one file per run, so allocation rate and throughput can be compared across releases.
+# Extra arguments are passed to JMH, e.g. ./run.sh TaskDtoAssembly -f 1
+
+set -e
+
+cd "$(dirname "$0")"
+
+echo "Installing backend..."
+(cd .. && mvn -B -q install -DskipTests)
+
+echo "Building benchmarks..."
+mvn -B -q package
+
+VERSION=$(cd .. && mvn -B -q help:evaluate -Dexpression=project.version -DforceStdout)
+mkdir -p results
+RESULT_FILE="results/${VERSION}-$(git rev-parse --short HEAD 2>/dev/null || echo local)-$(date +%Y%m%d%H%M%S).json"
+
+java -jar target/benchmarks.jar -prof gc -rf json -rff "$RESULT_FILE" "$@"
+
+echo "Results written to $RESULT_FILE"
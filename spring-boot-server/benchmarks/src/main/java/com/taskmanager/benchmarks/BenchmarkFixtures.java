@@ -0,0 +1,125 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import com.taskmanager.service.TaskRank;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Test data and wiring helpers shared by the benchmarks. Services are exercised
+ * through their real code paths with in-memory repository stubs, so no database
+ * or Spring context is involved.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User("user" + i + "@example.com", "password", "User " + i);
+            user.setId(UUID.nameUUIDFromBytes(("user-" + i).getBytes()));
+            user.setAvatar("https://example.com/avatars/" + i + ".png");
+            user.setCreatedAt(NOW);
+            user.setUpdatedAt(NOW);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Task> tasks(int count, List<User> users) {
+        UUID projectId = UUID.nameUUIDFromBytes("project".getBytes());
+        String[] ranks = TaskRank.spaced(count);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(UUID.nameUUIDFromBytes(("task-" + i).getBytes()));
+            task.setTitle("Task " + i + ": implement the feature described in the ticket");
+            task.setDescription("A realistic description with a few sentences of text. " +
+                    "It explains what needs to be done for task " + i + " and why.");
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            task.setProjectId(projectId);
+            task.setCreatedBy(users.get(i % users.size()).getId());
+            task.setAssigneeId(users.get((i + 1) % users.size()).getId());
+            task.setLastEditedBy(users.get((i + 2) % users.size()).getId());
+            task.setRank(ranks[i]);
+            task.setStartDate(NOW.minusDays(i % 30));
+            task.setDueDate(NOW.plusDays(i % 30));
+            task.setCreatedAt(NOW.minusDays(30));
+            task.setUpdatedAt(NOW);
+            task.setVersion(i % 5);
+            task.setTagsList(List.of("backend", "performance", "sprint-" + (i % 10)));
+            Map<String, Object> customFields = new HashMap<>();
+            customFields.put("estimate", i % 8);
+            customFields.put("component", "api");
+            customFields.put("reviewed", i % 2 == 0);
+            task.setCustomFieldsMap(customFields);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates a repository stub that answers the listed methods and fails on anything else.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, BiFunction<Object, Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                default:
+                    break;
+            }
+            BiFunction<Object, Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(proxy, args);
+        });
+    }
+
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Looks up a private method so the benchmark measures the exact production code path.
+     */
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation on login/register and verification on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String userId;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        BenchmarkFixtures.inject(jwtUtil, "secret", "benchmark-secret-key-that-is-long-enough-for-hs256");
+        BenchmarkFixtures.inject(jwtUtil, "expiration", 604800000L);
+        userId = UUID.randomUUID().toString();
+        userDetails = User.withUsername(userId).password("").authorities(new String[0]).build();
+        token = jwtUtil.generateToken(userId);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId);
+    }
+
+    // Mirrors JwtAuthenticationFilter: extract the subject, then validate the token
+    @Benchmark
+    public boolean verifyToken() {
+        return jwtUtil.extractUsername(token) != null && jwtUtil.validateToken(token, userDetails);
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskDTO assembly as done by TaskService.convertToDTO for every task response,
+ * including user resolution and tags/custom fields parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDtoAssemblyBenchmark {
+
+    @Param({"1", "100"})
+    private int taskCount;
+
+    private TaskService taskService;
+    private MethodHandle convertToDTOs;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkFixtures.users(20);
+        tasks = BenchmarkFixtures.tasks(taskCount, users);
+
+        taskService = new TaskService();
+        BenchmarkFixtures.inject(taskService, "userRepository", BenchmarkFixtures.repository(UserRepository.class,
+                Map.of("findAllById", (proxy, args) -> users)));
+        convertToDTOs = BenchmarkFixtures.privateMethod(TaskService.class, "convertToDTOs", List.class, List.class);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<TaskDTO> convertToDTOs() throws Throwable {
+        return (List<TaskDTO>) convertToDTOs.invoke(taskService, tasks);
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import com.taskmanager.reminder.DueDateScheduler;
+import com.taskmanager.repository.TaskHistoryRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of a task PATCH: applying the patch, diffing every field
+ * against the original values into TaskHistory entries and building the response.
+ * Persistence is stubbed out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskHistoryDiffBenchmark {
+
+    private TaskService taskService;
+    private MethodHandle applyPatch;
+    private TaskPatchDTO patch;
+    private UUID taskId;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkFixtures.users(3);
+        Task template = BenchmarkFixtures.tasks(1, users).get(0);
+        taskId = template.getId();
+        userId = users.get(0).getId();
+
+        taskService = new TaskService();
+        // Every invocation patches a fresh copy so each run produces the full diff
+        BenchmarkFixtures.inject(taskService, "taskRepository", BenchmarkFixtures.repository(TaskRepository.class, Map.of(
+                "findUserTaskById", (proxy, args) -> Optional.of(copy(template)),
+                "saveAndFlush", (proxy, args) -> args[0])));
+        BenchmarkFixtures.inject(taskService, "taskHistoryRepository", BenchmarkFixtures.repository(TaskHistoryRepository.class,
+                Map.of("save", (proxy, args) -> args[0])));
+        BenchmarkFixtures.inject(taskService, "userRepository", BenchmarkFixtures.repository(UserRepository.class,
+                Map.of("findAllById", (proxy, args) -> users)));
+        // Constructed outside Spring, reminders.enabled stays false and due date changes are ignored
+        BenchmarkFixtures.inject(taskService, "dueDateScheduler", new DueDateScheduler());
+        applyPatch = BenchmarkFixtures.privateMethod(TaskService.class, "applyPatch",
+                TaskDTO.class, UUID.class, TaskPatchDTO.class, Integer.class, UUID.class);
+
+        patch = new TaskPatchDTO();
+        patch.setTitle("Updated title");
+        patch.setDescription("Updated description");
+        patch.setStatus(TaskStatus.DONE);
+        patch.setPriority(Priority.HIGH);
+        patch.setAssigneeId(users.get(2).getId());
+        patch.setDueDate(BenchmarkFixtures.NOW.plusDays(60));
+        patch.setTags(List.of("backend", "done"));
+        patch.setCustomFields(Map.of("estimate", 3, "component", "web"));
+    }
+
+    @Benchmark
+    public TaskDTO patchTask() throws Throwable {
+        return (TaskDTO) applyPatch.invoke(taskService, taskId, patch, (Integer) null, userId);
+    }
+
+    private static Task copy(Task source) {
+        Task task = new Task();
+        task.setId(source.getId());
+        task.setTitle(source.getTitle());
+        task.setDescription(source.getDescription());
+        task.setStatus(source.getStatus());
+        task.setPriority(source.getPriority());
+        task.setProjectId(source.getProjectId());
+        task.setAssigneeId(source.getAssigneeId());
+        task.setCreatedBy(source.getCreatedBy());
+        task.setLastEditedBy(source.getLastEditedBy());
+        task.setRank(source.getRank());
+        task.setStartDate(source.getStartDate());
+        task.setDueDate(source.getDueDate());
+        task.setCreatedAt(source.getCreatedAt());
+        task.setUpdatedAt(source.getUpdatedAt());
+        task.setVersion(source.getVersion());
+        task.setTags(source.getTags());
+        task.setCustomFields(source.getCustomFields());
+        return task;
+    }
+}
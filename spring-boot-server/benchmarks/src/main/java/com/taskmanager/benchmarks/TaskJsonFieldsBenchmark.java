@@ -0,0 +1,37 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the JSON text columns of Task, done for every task that is returned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonFieldsBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkFixtures.tasks(1, BenchmarkFixtures.users(3)).get(0);
+    }
+
+    @Benchmark
+    public List<String> getTagsList() {
+        return task.getTagsList();
+    }
+
+    @Benchmark
+    public Map<String, Object> getCustomFieldsMap() {
+        return task.getCustomFieldsMap();
+    }
+}
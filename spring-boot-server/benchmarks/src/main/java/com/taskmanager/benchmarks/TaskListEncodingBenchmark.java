@@ -0,0 +1,86 @@
+package com.taskmanager.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.web.BinaryEncodingConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against the Smile and CBOR encodings offered through content negotiation,
+ * for a 10k task list. Payload sizes, raw and gzipped, are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListEncodingBenchmark {
+
+    private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String encoding;
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+    private byte[] encoded;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Throwable {
+        // Same builder and factories the backend's message converters use
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (encoding) {
+            case "json" -> builder.build();
+            case "smile" -> builder.factory(BinaryEncodingConfig.smileFactory()).build();
+            case "cbor" -> builder.factory(BinaryEncodingConfig.cborFactory()).build();
+            default -> throw new IllegalArgumentException(encoding);
+        };
+
+        List<User> users = BenchmarkFixtures.users(20);
+        TaskService taskService = new TaskService();
+        BenchmarkFixtures.inject(taskService, "userRepository", BenchmarkFixtures.repository(UserRepository.class,
+                Map.of("findAllById", (proxy, args) -> users)));
+        tasks = (List<TaskDTO>) BenchmarkFixtures.privateMethod(TaskService.class, "convertToDTOs", List.class, List.class)
+                .invoke(taskService, BenchmarkFixtures.tasks(taskCount, users));
+
+        encoded = objectMapper.writeValueAsBytes(tasks);
+        System.out.printf("%n%s payload for %d tasks: %d bytes, %d bytes gzipped%n",
+                encoding, taskCount, encoded.length, gzippedSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, TASK_LIST);
+    }
+
+    private static int gzippedSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
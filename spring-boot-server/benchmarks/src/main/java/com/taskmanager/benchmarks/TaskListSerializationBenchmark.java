@@ -0,0 +1,63 @@
+package com.taskmanager.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.dto.FieldSelection;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.web.SparseFieldsConfig;
+import com.taskmanager.web.SparseFieldsResponseBodyAdvice;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of large task lists, as returned by the project task and board endpoints,
+ * with users embedded in every task or listed once in the normalized shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int taskCount;
+
+    @Param({"embedded", "normalized"})
+    private String shape;
+
+    private ObjectWriter objectWriter;
+    private Object body;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Throwable {
+        // Same defaults and filters as the ObjectMapper Spring Boot configures for the controllers
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new SparseFieldsConfig().sparseFieldsCustomizer().customize(builder);
+        boolean normalized = shape.equals("normalized");
+        objectWriter = builder.build().writer(SparseFieldsResponseBodyAdvice.filters(FieldSelection.ALL, normalized));
+
+        List<User> users = BenchmarkFixtures.users(20);
+        TaskService taskService = new TaskService();
+        BenchmarkFixtures.inject(taskService, "userRepository", BenchmarkFixtures.repository(UserRepository.class,
+                Map.of("findAllById", (proxy, args) -> users)));
+        List<TaskDTO> tasks = (List<TaskDTO>) BenchmarkFixtures.privateMethod(TaskService.class, "convertToDTOs", List.class, List.class)
+                .invoke(taskService, BenchmarkFixtures.tasks(taskCount, users));
+        body = normalized ? SparseFieldsResponseBodyAdvice.normalize(tasks) : tasks;
+        System.out.printf("%n%s payload for %d tasks: %d bytes%n", shape, taskCount, objectWriter.writeValueAsBytes(body).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(body);
+    }
+}
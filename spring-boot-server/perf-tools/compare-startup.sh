@@ -0,0 +1,83 @@
+#!/bin/bash
+
+# Measures startup time and time to first request of the regular exec jar, the
+# AOT + AppCDS build of the fast-startup profile and, when it has been built with
+# mvn -Pnative native:compile, the native image. Needs a running PostgreSQL; any
+# arguments are passed on to the backend.
+# Example: RUNS=10 ./compare-startup.sh --spring.datasource.url=jdbc:postgresql://localhost:5433/task_manager
+
+set -e
+
+cd "$(dirname "$0")"
+
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+BASE_URL="http://localhost:$PORT"
+RESULTS=results
+mkdir -p "$RESULTS"
+RESULTS=$(cd "$RESULTS" && pwd)
+REPORT="$RESULTS/startup.txt"
+
+# The fast-startup build also packages the exec jar; its training run needs the database too
+(cd .. && mvn -B -q -Pfast-startup package -DskipTests -Dcds.training.arguments="$*")
+
+BACKEND_DIR=$(cd .. && pwd)
+EXEC_JAR=$(ls "$BACKEND_DIR"/target/task-manager-backend-*-exec.jar | head -1)
+FAST_DIR="$BACKEND_DIR/target/fast-startup"
+FAST_JAR=$(cd "$FAST_DIR" && ls task-manager-backend-*-fast-startup.jar | head -1)
+NATIVE_IMAGE="$BACKEND_DIR/target/task-manager-backend"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts the backend with the given command, then reports the startup time the
+# application logged, the time until the health check answers and the time until
+# the first API request (a registration: validation, bcrypt, JPA and JWT) returns
+run_once() {
+    local mode=$1
+    local run=$2
+    shift 2
+    local log="$RESULTS/startup-$mode-$run.log"
+
+    local started=$(now_ms)
+    "$@" --server.port="$PORT" --spring.jpa.show-sql=false "${BACKEND_ARGS[@]}" > "$log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Backend exited, see $log"
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ready=$(now_ms)
+
+    curl -sf -o /dev/null -X POST "$BASE_URL/api/auth/register" -H "Content-Type: application/json" \
+        -d "{\"email\":\"startup-$mode-$run-$started@example.com\",\"password\":\"startup-password\",\"name\":\"Startup $mode\"}"
+    local first_request=$(now_ms)
+
+    local logged=$(grep -o "Started TaskManagerApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]*" | head -1)
+    printf "%-12s %3d %12s %10d %18d\n" "$mode" "$run" "${logged:-?}" $((ready - started)) $((first_request - started)) | tee -a "$REPORT"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+BACKEND_ARGS=("$@")
+
+printf "%-12s %3s %12s %10s %18s\n" "mode" "run" "started (s)" "ready (ms)" "first request (ms)" | tee "$REPORT"
+for run in $(seq 1 "$RUNS"); do
+    run_once jar "$run" java -jar "$EXEC_JAR"
+    # The archive is only used with the class path it was recorded with, so start from its directory
+    (cd "$FAST_DIR" && run_once aot-cds "$run" java -XX:SharedArchiveFile=task-manager.jsa -Xlog:cds=error \
+        -Dspring.aot.enabled=true -jar "$FAST_JAR")
+    if [ -x "$NATIVE_IMAGE" ]; then
+        run_once native "$run" "$NATIVE_IMAGE"
+    fi
+done
+
+echo
+echo "Report written to $REPORT, server logs to $RESULTS/startup-*.log"
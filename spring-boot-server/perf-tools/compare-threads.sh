@@ -0,0 +1,63 @@
+#!/bin/bash
+
+# Runs the same load test against the backend in platform-thread and virtual-thread
+# mode and writes one report per mode to results/. Needs Java 21 and a running
+# PostgreSQL; any arguments are passed on to the load generator.
+# Example: ./compare-threads.sh --rate=400 --duration=120 --warmup=20 --mix=board=60,patch=30,history=10
+
+set -e
+
+cd "$(dirname "$0")"
+
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+BASE_URL="http://localhost:$PORT"
+RESULTS=results
+mkdir -p "$RESULTS"
+
+(cd .. && mvn -B -q -Pjava21 package -DskipTests)
+mvn -B -q package
+
+BACKEND_JAR=$(ls ../target/task-manager-backend-*-exec.jar | head -1)
+
+run_mode() {
+    local mode=$1
+    local virtual=$2
+    shift 2
+
+    echo "=== $mode threads ==="
+    java -jar "$BACKEND_JAR" \
+        --server.port="$PORT" \
+        --management.server.port="$MANAGEMENT_PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --spring.jpa.show-sql=false \
+        > "$RESULTS/server-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Backend exited, see $RESULTS/server-$mode.log"
+            exit 1
+        fi
+        sleep 1
+    done
+
+    java -cp target/perf-tools.jar com.taskmanager.perf.loadgen.LoadGenerator \
+        --base-url="$BASE_URL" --output="$RESULTS/threads-$mode.txt" "$@"
+
+    # Server-side view of the same run: pool saturation, permit queueing and pinning
+    curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/prometheus" \
+        | grep -E '^(hikaricp_connections_(active|pending|max)|jvm_threads_live_threads|taskmanager_db_permit|taskmanager_threads_pinned_total)' \
+        >> "$RESULTS/threads-$mode.txt" || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false "$@"
+run_mode virtual true "$@"
+
+echo
+echo "Reports written to $RESULTS/threads-platform.txt and $RESULTS/threads-virtual.txt"
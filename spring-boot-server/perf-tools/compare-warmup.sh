@@ -0,0 +1,79 @@
+#!/bin/bash
+
+# Measures latency right after startup with and without the warm-up phase. The data
+# set is created once in a separate run and reused, so only the measured requests
+# reach the freshly started backend; measuring starts as soon as readiness reports
+# UP. Needs a running PostgreSQL; any arguments are passed on to the load generator.
+# Example: ./compare-warmup.sh --rate=100 --duration=60 --mix=board=70,patch=20,history=10
+
+set -e
+
+cd "$(dirname "$0")"
+
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:$PORT"
+RESULTS=results
+SESSIONS="$RESULTS/warmup-sessions.json"
+mkdir -p "$RESULTS"
+
+(cd .. && mvn -B -q package -DskipTests)
+mvn -B -q package
+
+BACKEND_JAR=$(ls ../target/task-manager-backend-*-exec.jar | head -1)
+
+start_backend() {
+    local name=$1
+    shift
+
+    local started=$(date +%s%N)
+    java -jar "$BACKEND_JAR" \
+        --server.port="$PORT" \
+        --spring.jpa.show-sql=false \
+        "$@" \
+        > "$RESULTS/server-$name.log" 2>&1 &
+    pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "$BASE_URL/actuator/health/readiness" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Backend exited, see $RESULTS/server-$name.log"
+            exit 1
+        fi
+        sleep 0.1
+    done
+    echo "Ready after $(( ($(date +%s%N) - started) / 1000000 )) ms"
+}
+
+stop_backend() {
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+if [ ! -f "$SESSIONS" ]; then
+    echo "=== creating the data set ==="
+    start_backend setup
+    java -cp target/perf-tools.jar com.taskmanager.perf.loadgen.LoadGenerator \
+        --base-url="$BASE_URL" --sessions="$SESSIONS" --duration=1 --warmup=0 \
+        --output="$RESULTS/warmup-setup.txt" > /dev/null
+    stop_backend
+fi
+
+run_mode() {
+    local mode=$1
+    local enabled=$2
+    shift 2
+
+    echo "=== $mode start ==="
+    start_backend "warmup-$mode" --warmup.enabled="$enabled"
+    java -cp target/perf-tools.jar com.taskmanager.perf.loadgen.LoadGenerator \
+        --base-url="$BASE_URL" --sessions="$SESSIONS" --warmup=0 \
+        --output="$RESULTS/warmup-$mode.txt" "$@"
+    stop_backend
+}
+
+run_mode cold false "$@"
+run_mode warm true "$@"
+
+echo
+echo "Reports written to $RESULTS/warmup-cold.txt and $RESULTS/warmup-warm.txt"
@@ -0,0 +1,13 @@
+#!/bin/bash
+
+# Replays a kanban workload against a running backend and writes latency
+# percentiles per endpoint to loadgen-report.txt (or --output=<file>).
+# Example: ./loadgen.sh --rate=100 --duration=120 --mix=board=70,patch=20,history=10
+
+set -e
+
+cd "$(dirname "$0")"
+
+mvn -B -q package
+
+java -cp target/perf-tools.jar com.taskmanager.perf.loadgen.LoadGenerator "$@"
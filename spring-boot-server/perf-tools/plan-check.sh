@@ -0,0 +1,13 @@
+#!/bin/bash
+
+# Runs EXPLAIN on the hot repository queries against a seeded database (see seed.sh)
+# and exits with status 1 if any of them falls back to a sequential scan.
+# Example: ./plan-check.sh --jdbc-url=jdbc:postgresql://localhost:5433/task_manager --verbose=true
+
+set -e
+
+cd "$(dirname "$0")"
+
+mvn -B -q package
+
+java -cp target/perf-tools.jar com.taskmanager.perf.plan.PlanChecker "$@"
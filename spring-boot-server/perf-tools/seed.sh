@@ -0,0 +1,12 @@
+#!/bin/bash
+
+# Loads a synthetic data set into PostgreSQL with COPY.
+# Example: ./seed.sh --users=50000 --projects=5000 --tasks=2000000 --history-per-task=4 --truncate=true
+
+set -e
+
+cd "$(dirname "$0")"
+
+mvn -B -q package
+
+java -cp target/perf-tools.jar com.taskmanager.perf.seed.DataSeeder "$@"
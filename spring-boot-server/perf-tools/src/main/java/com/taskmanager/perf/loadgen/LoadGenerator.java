@@ -0,0 +1,153 @@
+package com.taskmanager.perf.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for a locally running Task Manager backend.
+ *
+ * Requests are started on a fixed (or Poisson) arrival schedule regardless of how fast
+ * the server answers, and latency is measured from the scheduled start time, so a
+ * slow server shows up as higher latency instead of a lower request rate.
+ *
+ * Usage: java -cp perf-tools.jar com.taskmanager.perf.loadgen.LoadGenerator
+ *            --rate=100 --duration=120 --mix=board=60,patch=25,bulk=5,history=10
+ */
+public class LoadGenerator {
+
+    private static final int PERCENTILE_TICKS_PER_HALF = 5;
+
+    private final LoadGeneratorConfig config;
+    private final ApiClient client;
+    private final Workload workload;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(LoadGeneratorConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config.getBaseUrl());
+        this.workload = new Workload(client, config);
+        for (Operation operation : config.getMix().keySet()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorConfig config = LoadGeneratorConfig.fromArgs(args);
+        new LoadGenerator(config).run();
+    }
+
+    public void run() throws Exception {
+        workload.setUp();
+
+        System.out.printf("Running %.1f req/s (%s arrivals) for %ds, the first %ds are warm-up%n",
+                config.getRate(), config.isPoissonArrivals() ? "poisson" : "constant",
+                config.getDuration().toSeconds(), config.getWarmup().toSeconds());
+        generateLoad();
+
+        writeReport();
+    }
+
+    private void generateLoad() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.getWarmup().toNanos();
+        long end = start + config.getDuration().toNanos();
+        double nextOffset = 0;
+
+        while (true) {
+            long intendedStart = start + (long) nextOffset;
+            if (intendedStart >= end) {
+                break;
+            }
+            nextOffset += config.isPoissonArrivals()
+                    ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = workload.nextOperation(random);
+            EndpointStats endpointStats = stats.get(operation);
+            boolean measured = intendedStart >= measureFrom;
+
+            // Protects the client, not the server: a dropped request means the run is invalid at this rate
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                if (measured) {
+                    endpointStats.recordDropped();
+                }
+                continue;
+            }
+
+            HttpRequest request = workload.request(operation, random);
+            inFlight.incrementAndGet();
+            client.sendAsync(request).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    endpointStats.record(System.nanoTime() - intendedStart, success);
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    private void writeReport() throws IOException {
+        double measuredSeconds = config.getDuration().minus(config.getWarmup()).toMillis() / 1000.0;
+
+        try (PrintStream file = new PrintStream(new FileOutputStream(config.getOutput()))) {
+            for (PrintStream out : new PrintStream[]{System.out, file}) {
+                out.printf("Load test %s against %s%n", LocalDateTime.now(), config.getBaseUrl());
+                out.printf("Target rate %.1f req/s, measured %.0fs, mix %s%n%n",
+                        config.getRate(), measuredSeconds, config.getMix());
+                out.printf("%-8s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                        "endpoint", "requests", "req/s", "errors", "dropped",
+                        "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+                for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+                    Histogram histogram = entry.getValue().getLatencies();
+                    out.printf("%-8s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                            entry.getKey().name().toLowerCase(),
+                            histogram.getTotalCount(),
+                            histogram.getTotalCount() / measuredSeconds,
+                            entry.getValue().getErrors(),
+                            entry.getValue().getDropped(),
+                            millis(histogram.getValueAtPercentile(50)),
+                            millis(histogram.getValueAtPercentile(90)),
+                            millis(histogram.getValueAtPercentile(99)),
+                            millis(histogram.getValueAtPercentile(99.9)),
+                            millis(histogram.getMaxValue()));
+                }
+            }
+
+            // Full distributions in HdrHistogram's format, values in milliseconds
+            for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+                file.printf("%n%s latency distribution%n", entry.getKey().name().toLowerCase());
+                entry.getValue().getLatencies().outputPercentileDistribution(file, PERCENTILE_TICKS_PER_HALF, 1000.0);
+            }
+        }
+        System.out.printf("%nReport written to %s%n", config.getOutput());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.taskmanager.perf.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load generator settings, given as --name=value arguments.
+ */
+public class LoadGeneratorConfig {
+
+    private String baseUrl = "http://localhost:8080";
+    private int users = 20;
+    private int projectsPerUser = 1;
+    private int tasksPerProject = 200;
+    private double rate = 50;
+    private boolean poissonArrivals = true;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int maxInFlight = 1000;
+    private int bulkSize = 10;
+    private String output = "loadgen-report.txt";
+    // Users, projects and tasks are saved here and reused by later runs
+    private String sessions;
+    private Map<Operation, Integer> mix = parseMix("board=60,patch=25,bulk=5,history=10");
+
+    public static LoadGeneratorConfig fromArgs(String[] args) {
+        LoadGeneratorConfig config = new LoadGeneratorConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> config.baseUrl = value.replaceAll("/+$", "");
+                case "users" -> config.users = Integer.parseInt(value);
+                case "projects-per-user" -> config.projectsPerUser = Integer.parseInt(value);
+                case "tasks-per-project" -> config.tasksPerProject = Integer.parseInt(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "arrivals" -> config.poissonArrivals = parseArrivals(value);
+                case "duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "bulk-size" -> config.bulkSize = Integer.parseInt(value);
+                case "output" -> config.output = value;
+                case "sessions" -> config.sessions = value;
+                case "mix" -> config.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.rate <= 0 || config.users <= 0 || config.projectsPerUser <= 0 || config.tasksPerProject <= 0) {
+            throw new IllegalArgumentException("rate, users, projects-per-user and tasks-per-project must be positive");
+        }
+        if (!config.warmup.minus(config.duration).isNegative()) {
+            throw new IllegalArgumentException("warmup must be shorter than duration");
+        }
+        return config;
+    }
+
+    private static boolean parseArrivals(String value) {
+        return switch (value) {
+            case "poisson" -> true;
+            case "constant" -> false;
+            default -> throw new IllegalArgumentException("arrivals must be poisson or constant");
+        };
+    }
+
+    // Weights per operation, e.g. board=60,patch=25,bulk=5,history=10
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    // Getters
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getProjectsPerUser() {
+        return projectsPerUser;
+    }
+
+    public int getTasksPerProject() {
+        return tasksPerProject;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public boolean isPoissonArrivals() {
+        return poissonArrivals;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getBulkSize() {
+        return bulkSize;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public String getSessions() {
+        return sessions;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.perf.loadgen;
+
+/**
+ * Requests replayed during the measured phase.
+ */
+public enum Operation {
+    // GET /api/tasks/projects/{projectId}/board
+    BOARD,
+    // PATCH /api/tasks/{id} changing the status, like dragging a card to another column
+    PATCH,
+    // POST /api/tasks/bulk-update
+    BULK,
+    // GET /api/tasks/{id}/history
+    HISTORY,
+    // GET /api/projects, every project of the user with members and tasks
+    PROJECTS,
+    // GET /api/projects/{id}
+    PROJECT
+}
@@ -0,0 +1,148 @@
+package com.taskmanager.perf.loadgen;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The data set a run works against: projects for every registered user, filled with
+ * tasks, and the weighted mix of requests replayed against it.
+ */
+public class Workload {
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final ApiClient client;
+    private final LoadGeneratorConfig config;
+    private final List<Session> sessions = new ArrayList<>();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private record Session(String token, List<String> projectIds, List<String> taskIds) {
+    }
+
+    public Workload(ApiClient client, LoadGeneratorConfig config) {
+        this.client = client;
+        this.config = config;
+
+        Map<Operation, Integer> mix = new EnumMap<>(config.getMix());
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Registers the users and creates their projects and tasks through the API. With
+     * --sessions, a data set saved by an earlier run is reused instead, so a freshly
+     * started backend is not warmed up by the setup requests before it is measured.
+     */
+    public void setUp() throws Exception {
+        File sessionsFile = config.getSessions() != null ? new File(config.getSessions()) : null;
+        if (sessionsFile != null && sessionsFile.exists()) {
+            sessions.addAll(new ObjectMapper().readValue(sessionsFile, new TypeReference<List<Session>>() {
+            }));
+            System.out.printf("Reusing %d users from %s%n", sessions.size(), sessionsFile);
+            return;
+        }
+
+        createSessions();
+        if (sessionsFile != null) {
+            new ObjectMapper().writeValue(sessionsFile, sessions);
+        }
+    }
+
+    private void createSessions() throws Exception {
+        System.out.printf("Creating %d users with %d projects of %d tasks each on %s%n",
+                config.getUsers(), config.getProjectsPerUser(), config.getTasksPerProject(), config.getBaseUrl());
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(config.getUsers(), 8));
+        try {
+            List<Future<Session>> futures = new ArrayList<>();
+            for (int i = 0; i < config.getUsers(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> createSession(runId, index)));
+            }
+            for (Future<Session> future : futures) {
+                sessions.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Session createSession(String runId, int index) {
+        String token = client.register("loadgen-" + runId + "-" + index + "@example.com",
+                "loadgen-password", "Load Generator " + index);
+
+        List<String> projectIds = new ArrayList<>();
+        List<String> taskIds = new ArrayList<>();
+        for (int p = 0; p < config.getProjectsPerUser(); p++) {
+            JsonNode project = client.send(client.json("POST", "/api/projects", token,
+                    Map.of("name", "Load test board " + index + "." + p, "description", "Created by the load generator")));
+            String projectId = project.get("id").asText();
+            projectIds.add(projectId);
+
+            for (int i = 0; i < config.getTasksPerProject(); i++) {
+                Map<String, Object> task = new HashMap<>();
+                task.put("title", "Task " + i);
+                task.put("description", "Load test task " + i + " on board " + index + "." + p);
+                task.put("status", STATUSES[i % STATUSES.length]);
+                task.put("priority", PRIORITIES[i % PRIORITIES.length]);
+                JsonNode created = client.send(client.json("POST", "/api/tasks/projects/" + projectId, token, task));
+                taskIds.add(created.get("id").asText());
+            }
+        }
+        return new Session(token, projectIds, taskIds);
+    }
+
+    public Operation nextOperation(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        String projectId = session.projectIds().get(random.nextInt(session.projectIds().size()));
+        String taskId = session.taskIds().get(random.nextInt(session.taskIds().size()));
+
+        return switch (operation) {
+            case BOARD -> client.get("/api/tasks/projects/" + projectId + "/board", session.token());
+            case PATCH -> client.json("PATCH", "/api/tasks/" + taskId, session.token(),
+                    Map.of("status", STATUSES[random.nextInt(STATUSES.length)]));
+            case BULK -> {
+                List<String> taskIds = new ArrayList<>();
+                for (int i = 0; i < config.getBulkSize(); i++) {
+                    taskIds.add(session.taskIds().get(random.nextInt(session.taskIds().size())));
+                }
+                yield client.json("POST", "/api/tasks/bulk-update", session.token(),
+                        Map.of("taskIds", taskIds, "updates", Map.of("priority", PRIORITIES[random.nextInt(PRIORITIES.length)])));
+            }
+            case HISTORY -> client.get("/api/tasks/" + taskId + "/history", session.token());
+            case PROJECTS -> client.get("/api/projects", session.token());
+            case PROJECT -> client.get("/api/projects/" + projectId, session.token());
+        };
+    }
+}
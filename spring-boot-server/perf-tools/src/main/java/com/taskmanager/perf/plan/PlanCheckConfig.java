@@ -0,0 +1,59 @@
+package com.taskmanager.perf.plan;
+
+/**
+ * Plan check settings, given as --name=value arguments.
+ */
+public class PlanCheckConfig {
+
+    private String jdbcUrl = "jdbc:postgresql://localhost:5433/task_manager";
+    private String username = "taskuser";
+    private String password = "taskpass";
+    // Queries run against the project at this percentile of task counts
+    private double projectPercentile = 0.99;
+    private boolean verbose = false;
+
+    public static PlanCheckConfig fromArgs(String[] args) {
+        PlanCheckConfig config = new PlanCheckConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "jdbc-url" -> config.jdbcUrl = value;
+                case "username" -> config.username = value;
+                case "password" -> config.password = value;
+                case "project-percentile" -> config.projectPercentile = Double.parseDouble(value);
+                case "verbose" -> config.verbose = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.projectPercentile < 0 || config.projectPercentile > 1) {
+            throw new IllegalArgumentException("project-percentile must be between 0 and 1");
+        }
+        return config;
+    }
+
+    // Getters
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public double getProjectPercentile() {
+        return projectPercentile;
+    }
+
+    public boolean isVerbose() {
+        return verbose;
+    }
+}
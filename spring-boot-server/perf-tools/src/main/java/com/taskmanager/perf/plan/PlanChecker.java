@@ -0,0 +1,301 @@
+package com.taskmanager.perf.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs EXPLAIN on the hot repository queries against a seeded database and fails when
+ * one of them reads a whole table. The statements mirror what the repositories send,
+ * with the parameters of a busy but typical project: the one at the configured
+ * percentile of task counts, and of a typical member of it. The few largest projects hold a big share of all tasks,
+ * for them a sequential scan can be the cheaper plan and is not a regression.
+ *
+ * Keep HOT_QUERIES in sync when a repository query changes or a new one becomes hot.
+ * Exits with status 1 when any plan contains a sequential scan of a table that holds
+ * data; empty tables, such as task_history partitions for coming months, are ignored.
+ */
+public class PlanChecker {
+
+    private record Sample(UUID projectId, UUID userId, UUID taskId, UUID assigneeId, String email,
+                          Timestamp changedAt, UUID historyId) {
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement, Sample sample) throws SQLException;
+    }
+
+    private record HotQuery(String name, String sql, Binder binder) {
+    }
+
+    private static final String ACCESS_CHECK = "p.deleted_at IS NULL AND (p.owner_id = ? OR EXISTS " +
+            "(SELECT 1 FROM project_members pm WHERE pm.project_id = p.id AND pm.user_id = ?))";
+
+    private static final String ASSIGNED_ACCESS_CHECK = "EXISTS (SELECT 1 FROM projects p " +
+            "WHERE p.id = t.project_id AND " + ACCESS_CHECK + ")";
+
+    // Sort key TaskRepositoryImpl builds from Priority, HIGH first
+    private static final String PRIORITY_ORDER = "CASE t.priority WHEN 'LOW' THEN 2 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 0 END";
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("TaskRepository.findByProjectIdOrderByCreatedAtDesc",
+                    "SELECT * FROM tasks t WHERE t.project_id = ? ORDER BY t.created_at DESC",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("TaskRepository.findProjectTasksByUser",
+                    "SELECT * FROM tasks t WHERE t.project_id = ? AND EXISTS (SELECT 1 FROM projects p " +
+                            "WHERE p.id = t.project_id AND " + ACCESS_CHECK + ") ORDER BY t.status, t.rank, t.id",
+                    (s, p) -> {
+                        s.setObject(1, p.projectId());
+                        s.setObject(2, p.userId());
+                        s.setObject(3, p.userId());
+                    }),
+            new HotQuery("TaskRepository.findUserTaskById",
+                    "SELECT * FROM tasks t WHERE t.id = ? AND EXISTS (SELECT 1 FROM projects p " +
+                            "WHERE p.id = t.project_id AND " + ACCESS_CHECK + ")",
+                    (s, p) -> {
+                        s.setObject(1, p.taskId());
+                        s.setObject(2, p.userId());
+                        s.setObject(3, p.userId());
+                    }),
+            new HotQuery("TaskRepository.findFirstByProjectIdAndStatusOrderByRankDesc",
+                    "SELECT * FROM tasks t WHERE t.project_id = ? AND t.status = 'TODO' ORDER BY t.rank DESC LIMIT 1",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("TaskRepositoryImpl.findBoardColumns",
+                    "SELECT t.*, c.total FROM (SELECT status, COUNT(*) AS total FROM tasks WHERE project_id = ? " +
+                            "GROUP BY status) c CROSS JOIN LATERAL (SELECT * FROM tasks t WHERE t.project_id = ? " +
+                            "AND t.status = c.status ORDER BY t.rank, t.id LIMIT 50) t ORDER BY t.status, t.rank, t.id",
+                    (s, p) -> {
+                        s.setObject(1, p.projectId());
+                        s.setObject(2, p.projectId());
+                    }),
+            new HotQuery("tasks.assignee_id foreign key check on user deletion",
+                    "SELECT * FROM tasks t WHERE t.assignee_id = ?",
+                    (s, p) -> s.setObject(1, p.assigneeId())),
+            new HotQuery("TaskRepositoryImpl.findAssignedTasks, first page",
+                    "SELECT * FROM tasks t WHERE t.assignee_id = ? AND t.status <> 'DONE' AND t.due_date IS NOT NULL AND " +
+                            ASSIGNED_ACCESS_CHECK + " ORDER BY t.due_date, " + PRIORITY_ORDER + ", t.id LIMIT 51",
+                    (s, p) -> {
+                        s.setObject(1, p.assigneeId());
+                        s.setObject(2, p.assigneeId());
+                        s.setObject(3, p.assigneeId());
+                    }),
+            new HotQuery("TaskRepositoryImpl.findAssignedTasks, dated page",
+                    "SELECT * FROM tasks t WHERE t.assignee_id = ? AND t.status <> 'DONE' AND t.due_date IS NOT NULL " +
+                            "AND t.due_date >= now() AND (t.due_date, " + PRIORITY_ORDER + ", t.id) > " +
+                            "(now(), 1, '00000000-0000-0000-0000-000000000000') AND " + ASSIGNED_ACCESS_CHECK +
+                            " ORDER BY t.due_date, " + PRIORITY_ORDER + ", t.id LIMIT 51",
+                    (s, p) -> {
+                        s.setObject(1, p.assigneeId());
+                        s.setObject(2, p.assigneeId());
+                        s.setObject(3, p.assigneeId());
+                    }),
+            new HotQuery("TaskRepositoryImpl.findAssignedTasks, undated page",
+                    "SELECT * FROM tasks t WHERE t.assignee_id = ? AND t.status <> 'DONE' AND t.due_date IS NULL " +
+                            "AND (" + PRIORITY_ORDER + ", t.id) > (1, '00000000-0000-0000-0000-000000000000') AND " +
+                            ASSIGNED_ACCESS_CHECK + " ORDER BY " + PRIORITY_ORDER + ", t.id LIMIT 51",
+                    (s, p) -> {
+                        s.setObject(1, p.assigneeId());
+                        s.setObject(2, p.assigneeId());
+                        s.setObject(3, p.assigneeId());
+                    }),
+            new HotQuery("ProjectRepository.findUserProjectById",
+                    "SELECT * FROM projects p WHERE p.id = ? AND " + ACCESS_CHECK,
+                    (s, p) -> {
+                        s.setObject(1, p.projectId());
+                        s.setObject(2, p.userId());
+                        s.setObject(3, p.userId());
+                    }),
+            new HotQuery("ProjectRepository.findUserProjects",
+                    "SELECT * FROM projects p WHERE p.owner_id = ? AND p.deleted_at IS NULL UNION " +
+                            "SELECT * FROM projects p WHERE p.id IN (SELECT pm.project_id FROM project_members pm " +
+                            "WHERE pm.user_id = ?) AND p.deleted_at IS NULL",
+                    (s, p) -> {
+                        s.setObject(1, p.userId());
+                        s.setObject(2, p.userId());
+                    }),
+            new HotQuery("ProjectMemberRepository.findByProjectId",
+                    "SELECT * FROM project_members pm WHERE pm.project_id = ?",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("ProjectMemberRepository.findByUserId",
+                    "SELECT * FROM project_members pm WHERE pm.user_id = ?",
+                    (s, p) -> s.setObject(1, p.userId())),
+            new HotQuery("ProjectMemberRepository.existsByProjectIdAndUserId",
+                    "SELECT pm.id FROM project_members pm WHERE pm.project_id = ? AND pm.user_id = ? LIMIT 1",
+                    (s, p) -> {
+                        s.setObject(1, p.projectId());
+                        s.setObject(2, p.userId());
+                    }),
+            new HotQuery("TaskHistoryRepository.findUserTaskHistory",
+                    "SELECT * FROM task_history th WHERE th.task_id = ? AND EXISTS (SELECT 1 FROM tasks t " +
+                            "WHERE t.id = th.task_id AND EXISTS (SELECT 1 FROM projects p WHERE p.id = t.project_id AND " +
+                            ACCESS_CHECK + "))",
+                    (s, p) -> {
+                        s.setObject(1, p.taskId());
+                        s.setObject(2, p.userId());
+                        s.setObject(3, p.userId());
+                    }),
+            new HotQuery("TaskHistoryRepository.findProjectActivity",
+                    "SELECT * FROM task_history th LEFT JOIN users u ON u.id = th.changed_by WHERE th.project_id = ? " +
+                            "ORDER BY th.changed_at DESC, th.id DESC LIMIT 50",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("TaskHistoryRepository.findProjectActivityBefore",
+                    "SELECT * FROM task_history th LEFT JOIN users u ON u.id = th.changed_by WHERE th.project_id = ? " +
+                            "AND (th.changed_at < ? OR (th.changed_at = ? AND th.id < ?)) " +
+                            "ORDER BY th.changed_at DESC, th.id DESC LIMIT 50",
+                    (s, p) -> {
+                        s.setObject(1, p.projectId());
+                        s.setTimestamp(2, p.changedAt());
+                        s.setTimestamp(3, p.changedAt());
+                        s.setObject(4, p.historyId());
+                    }),
+            new HotQuery("ProjectPurgeService.purgeDeletedProjects",
+                    "SELECT id FROM projects WHERE deleted_at IS NOT NULL ORDER BY deleted_at",
+                    (s, p) -> {
+                    }),
+            new HotQuery("ProjectPurgeService task batch",
+                    "SELECT id FROM tasks WHERE project_id = ? LIMIT 5000",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("ProjectPurgeService history batch",
+                    "SELECT id, changed_at FROM task_history WHERE project_id = ? LIMIT 5000",
+                    (s, p) -> s.setObject(1, p.projectId())),
+            new HotQuery("DueDateScheduler window load",
+                    "SELECT id, due_date FROM tasks WHERE status <> 'DONE' AND due_date >= ? AND due_date <= ? " +
+                    "AND (due_date, id) > (?, ?) ORDER BY due_date, id LIMIT 10000",
+                    (s, p) -> {
+                        Timestamp from = new Timestamp(System.currentTimeMillis());
+                        s.setTimestamp(1, from);
+                        s.setTimestamp(2, new Timestamp(from.getTime() + 24 * 3600 * 1000L));
+                        s.setTimestamp(3, from);
+                        s.setObject(4, new UUID(-1L, -1L));
+                    }),
+            new HotQuery("DueDateScheduler due task check",
+                    "SELECT t.id, t.title, t.project_id, t.assignee_id, t.due_date FROM tasks t " +
+                    "JOIN projects p ON p.id = t.project_id WHERE t.status <> 'DONE' AND p.deleted_at IS NULL AND t.id IN (?)",
+                    (s, p) -> s.setObject(1, p.taskId())),
+            new HotQuery("UserRepository.findByEmail",
+                    "SELECT * FROM users u WHERE u.email = ?",
+                    (s, p) -> s.setString(1, p.email()))
+    );
+
+    private final PlanCheckConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public PlanChecker(PlanCheckConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new PlanChecker(PlanCheckConfig.fromArgs(args)).run() ? 0 : 1);
+    }
+
+    public boolean run() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword())) {
+            Sample sample = sample(connection);
+            System.out.printf("Project %s, user %s, task %s%n", sample.projectId(), sample.userId(), sample.taskId());
+
+            int failures = 0;
+            for (HotQuery query : HOT_QUERIES) {
+                JsonNode plan = explain(connection, query, sample);
+                List<String> seqScans = new ArrayList<>();
+                collectSeqScans(plan, seqScans);
+                seqScans.removeIf(relation -> isEmpty(connection, relation));
+
+                if (seqScans.isEmpty()) {
+                    System.out.printf("ok    %-62s cost %10.1f%n", query.name(), plan.path("Total Cost").asDouble());
+                } else {
+                    failures++;
+                    System.out.printf("FAIL  %-62s seq scan on %s%n", query.name(), String.join(", ", seqScans));
+                }
+                if (config.isVerbose() || !seqScans.isEmpty()) {
+                    System.out.println(explainText(connection, query, sample));
+                }
+            }
+
+            System.out.printf("%d of %d hot queries use a sequential scan%n", failures, HOT_QUERIES.size());
+            return failures == 0;
+        }
+    }
+
+    // Parameters of the project at the configured percentile and of its member in the fewest
+    // projects, since power users in hundreds of projects make any plan read most of them
+    private Sample sample(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "WITH counts AS (SELECT project_id, COUNT(*) AS tasks FROM tasks GROUP BY project_id), " +
+                "project AS (SELECT project_id FROM counts WHERE tasks <= " +
+                "(SELECT percentile_disc(?) WITHIN GROUP (ORDER BY tasks) FROM counts) ORDER BY tasks DESC LIMIT 1) " +
+                "SELECT pm.project_id, pm.user_id, u.email, " +
+                "(SELECT t.id FROM tasks t WHERE t.project_id = pm.project_id LIMIT 1), " +
+                "(SELECT t.assignee_id FROM tasks t WHERE t.project_id = pm.project_id AND t.assignee_id IS NOT NULL LIMIT 1), " +
+                "(SELECT th.changed_at FROM task_history th WHERE th.project_id = pm.project_id " +
+                "ORDER BY th.changed_at DESC, th.id DESC OFFSET 50 LIMIT 1), " +
+                "(SELECT th.id FROM task_history th WHERE th.project_id = pm.project_id " +
+                "ORDER BY th.changed_at DESC, th.id DESC OFFSET 50 LIMIT 1) " +
+                "FROM project_members pm JOIN project ON project.project_id = pm.project_id " +
+                "JOIN users u ON u.id = pm.user_id WHERE pm.role <> 'OWNER' " +
+                "ORDER BY (SELECT COUNT(*) FROM project_members m WHERE m.user_id = pm.user_id), pm.user_id LIMIT 1")) {
+            statement.setDouble(1, config.getProjectPercentile());
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next()) {
+                    throw new IllegalStateException("No project with members and tasks found, seed the database first (seed.sh)");
+                }
+                return new Sample(result.getObject(1, UUID.class), result.getObject(2, UUID.class), result.getObject(4, UUID.class),
+                        result.getObject(5, UUID.class), result.getString(3), result.getTimestamp(6), result.getObject(7, UUID.class));
+            }
+        }
+    }
+
+    private JsonNode explain(Connection connection, HotQuery query, Sample sample) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + query.sql())) {
+            query.binder().bind(statement, sample);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return objectMapper.readTree(result.getString(1)).get(0).get("Plan");
+            } catch (java.io.IOException e) {
+                throw new IllegalStateException("Unreadable plan for " + query.name(), e);
+            }
+        }
+    }
+
+    private String explainText(Connection connection, HotQuery query, Sample sample) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            query.binder().bind(statement, sample);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    plan.append("      ").append(result.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static boolean isEmpty(Connection connection, String relation) {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT relpages = 0 FROM pg_class WHERE oid = to_regclass(?)")) {
+            statement.setString(1, relation);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the size of " + relation, e);
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+}
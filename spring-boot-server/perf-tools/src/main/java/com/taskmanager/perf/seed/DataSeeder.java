@@ -0,0 +1,394 @@
+package com.taskmanager.perf.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a synthetic data set straight into PostgreSQL with COPY, bypassing the API.
+ *
+ * Every row is derived from the seed and its index, so the same arguments always produce
+ * the same data, and tasks and their history can be generated independently in parallel
+ * slices without keeping tasks in memory. Projects and users are Zipf-distributed: a few
+ * hot projects get most of the tasks and a few power users are members of many projects.
+ *
+ * All seeded users share the password "seed-password".
+ */
+public class DataSeeder {
+
+    public static final String PASSWORD = "seed-password";
+
+    private static final long USER = 1, PROJECT = 2, MEMBER = 3, TASK = 4, TASK_DETAIL = 5, HISTORY = 6;
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] HISTORY_FIELDS = {"status", "priority", "assigneeId", "title", "dueDate"};
+    private static final String[] TAGS = {"backend", "frontend", "bug", "feature", "performance", "design", "docs", "ops"};
+
+    private static final String USER_COLUMNS = "id, email, password, name, avatar, created_at, updated_at";
+    private static final String PROJECT_COLUMNS = "id, name, description, owner_id, created_at, updated_at";
+    private static final String MEMBER_COLUMNS = "id, project_id, user_id, role, joined_at";
+    private static final String TASK_COLUMNS = "id, title, description, status, priority, project_id, assignee_id, " +
+            "created_by, rank, start_date, due_date, created_at, updated_at, version, last_edited_by, tags, custom_fields";
+    private static final String HISTORY_COLUMNS = "id, task_id, project_id, field_name, old_value, new_value, " +
+            "changed_by, change_type, changed_at, description, task_version";
+
+    private final SeedConfig config;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final LocalDateTime start;
+    private final ZipfDistribution projectDistribution;
+    private final ZipfDistribution userDistribution;
+    private final UUID[][] projectMembers;
+
+    private record HistoryEntry(String fieldName, String oldValue, String newValue, UUID changedBy, LocalDateTime changedAt) {
+    }
+
+    private record TaskRow(UUID id, int project, UUID createdBy, UUID assignee, String status, String priority,
+                           LocalDateTime createdAt, LocalDateTime dueDate, List<HistoryEntry> history) {
+    }
+
+    public DataSeeder(SeedConfig config) {
+        this.config = config;
+        this.start = now.minusMonths(config.getMonths());
+        this.projectDistribution = new ZipfDistribution(config.getProjects(), config.getProjectSkew());
+        this.userDistribution = new ZipfDistribution(config.getUsers(), config.getUserSkew());
+        this.projectMembers = new UUID[config.getProjects()][];
+        for (int p = 0; p < config.getProjects(); p++) {
+            projectMembers[p] = members(p);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DataSeeder(SeedConfig.fromArgs(args)).run();
+    }
+
+    public void run() throws Exception {
+        long started = System.nanoTime();
+        try (Connection connection = connect()) {
+            if (config.isTruncate()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE task_history, tasks, project_members, projects, users CASCADE");
+                }
+            }
+            createHistoryPartitions(connection);
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            timed("users", () -> copyUsers(copyManager));
+            timed("projects", () -> copyProjects(copyManager));
+            timed("project_members", () -> copyMembers(copyManager));
+        }
+
+        timed("tasks", () -> inParallelSlices(this::copyTasks));
+        timed("task_history", () -> inParallelSlices(this::copyHistory));
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, projects, project_members, tasks, task_history");
+        }
+        System.out.printf("Done in %ds, all users have the password '%s'%n",
+                (System.nanoTime() - started) / 1_000_000_000L, PASSWORD);
+    }
+
+    private long copyUsers(CopyManager copyManager) throws SQLException {
+        // Hashing once keeps bcrypt out of the load time, every user can still log in
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (CopyWriter writer = new CopyWriter(copyManager, "users", USER_COLUMNS)) {
+            for (int u = 0; u < config.getUsers(); u++) {
+                SplittableRandom random = random(USER, u);
+                LocalDateTime createdAt = timeBetween(random, start, now);
+                writer.field(userId(u))
+                        .field("seed" + config.getSeed() + "-user" + u + "@example.com")
+                        .field(passwordHash)
+                        .field("Seed User " + u)
+                        .field(random.nextInt(4) == 0 ? null : "https://example.com/avatars/" + u + ".png")
+                        .field(createdAt)
+                        .field(createdAt)
+                        .endRow();
+            }
+            return writer.getRows();
+        }
+    }
+
+    private long copyProjects(CopyManager copyManager) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, "projects", PROJECT_COLUMNS)) {
+            for (int p = 0; p < config.getProjects(); p++) {
+                writer.field(projectId(p))
+                        .field("Project " + p)
+                        .field("Synthetic project " + p + " for benchmarking")
+                        .field(projectMembers[p][0])
+                        .field(start)
+                        .field(start)
+                        .endRow();
+            }
+            return writer.getRows();
+        }
+    }
+
+    private long copyMembers(CopyManager copyManager) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, "project_members", MEMBER_COLUMNS)) {
+            for (int p = 0; p < config.getProjects(); p++) {
+                SplittableRandom random = random(MEMBER, p);
+                for (int m = 0; m < projectMembers[p].length; m++) {
+                    writer.field(uuid(random))
+                            .field(projectId(p))
+                            .field(projectMembers[p][m])
+                            .field(m == 0 ? "OWNER" : random.nextInt(10) == 0 ? "VIEWER" : "MEMBER")
+                            .field(start)
+                            .endRow();
+                }
+            }
+            return writer.getRows();
+        }
+    }
+
+    private long copyTasks(CopyManager copyManager, long from, long to) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, "tasks", TASK_COLUMNS)) {
+            for (long t = from; t < to; t++) {
+                TaskRow task = task(t);
+                List<HistoryEntry> history = task.history();
+                HistoryEntry last = history.isEmpty() ? null : history.get(history.size() - 1);
+                SplittableRandom random = random(TASK_DETAIL, t);
+
+                writer.field(task.id())
+                        .field("Task " + t)
+                        .field(random.nextInt(3) == 0 ? null : "Synthetic task " + t + " in project " + task.project())
+                        .field(task.status())
+                        .field(task.priority())
+                        .field(projectId(task.project()))
+                        .field(task.assignee())
+                        .field(task.createdBy())
+                        // Ranks follow the task index, which keeps them unique and ordered within every column
+                        .field(rank(t))
+                        .field(task.createdAt())
+                        .field(task.dueDate())
+                        .field(task.createdAt())
+                        .field(last != null ? last.changedAt() : task.createdAt())
+                        .field(history.size())
+                        .field(last != null ? last.changedBy() : null)
+                        .field(tags(random))
+                        .field("{\"estimate\":" + (1 + random.nextInt(13)) + "}")
+                        .endRow();
+            }
+            return writer.getRows();
+        }
+    }
+
+    private long copyHistory(CopyManager copyManager, long from, long to) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, "task_history", HISTORY_COLUMNS)) {
+            for (long t = from; t < to; t++) {
+                TaskRow task = task(t);
+                SplittableRandom random = random(HISTORY, t);
+                int version = 0;
+                for (HistoryEntry entry : task.history()) {
+                    version++;
+                    writer.field(uuid(random))
+                            .field(task.id())
+                            .field(projectId(task.project()))
+                            .field(entry.fieldName())
+                            .field(entry.oldValue())
+                            .field(entry.newValue())
+                            .field(entry.changedBy())
+                            .field("UPDATE")
+                            .field(entry.changedAt())
+                            .field(String.format("Changed %s from '%s' to '%s'", entry.fieldName(), entry.oldValue(), entry.newValue()))
+                            .field(version)
+                            .endRow();
+                }
+            }
+            return writer.getRows();
+        }
+    }
+
+    private TaskRow task(long index) {
+        SplittableRandom random = random(TASK, index);
+        int project = projectDistribution.sample(random);
+        UUID[] members = projectMembers[project];
+
+        UUID createdBy = members[random.nextInt(members.length)];
+        UUID assignee = random.nextInt(5) == 0 ? null : members[random.nextInt(members.length)];
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+        String priority = PRIORITIES[random.nextInt(PRIORITIES.length)];
+        LocalDateTime createdAt = timeBetween(random, start, now);
+        LocalDateTime dueDate = random.nextInt(10) < 7 ? createdAt.plusDays(1 + random.nextInt(60)) : null;
+
+        // Geometrically distributed history length with the configured mean
+        int historyCount = config.getHistoryPerTask() == 0 ? 0
+                : (int) (Math.log(1 - random.nextDouble()) / Math.log(config.getHistoryPerTask() / (1 + config.getHistoryPerTask())));
+        List<HistoryEntry> history = new ArrayList<>(historyCount);
+        LocalDateTime changedAt = createdAt;
+        for (int h = 0; h < historyCount; h++) {
+            changedAt = timeBetween(random, changedAt, changedAt.plusSeconds(Math.max(1, ChronoUnit.SECONDS.between(changedAt, now) / (historyCount - h))));
+            String fieldName = HISTORY_FIELDS[random.nextInt(HISTORY_FIELDS.length)];
+            String oldValue;
+            String newValue;
+            switch (fieldName) {
+                case "status" -> {
+                    oldValue = STATUSES[random.nextInt(STATUSES.length)];
+                    newValue = STATUSES[random.nextInt(STATUSES.length)];
+                }
+                case "priority" -> {
+                    oldValue = PRIORITIES[random.nextInt(PRIORITIES.length)];
+                    newValue = PRIORITIES[random.nextInt(PRIORITIES.length)];
+                }
+                case "assigneeId" -> {
+                    oldValue = String.valueOf(members[random.nextInt(members.length)]);
+                    newValue = String.valueOf(members[random.nextInt(members.length)]);
+                }
+                case "title" -> {
+                    oldValue = "Task " + index;
+                    newValue = "Task " + index + " (rev " + (h + 1) + ")";
+                }
+                default -> {
+                    oldValue = createdAt.plusDays(random.nextInt(60)).toString();
+                    newValue = createdAt.plusDays(random.nextInt(60)).toString();
+                }
+            }
+            history.add(new HistoryEntry(fieldName, oldValue, newValue, members[random.nextInt(members.length)], changedAt));
+        }
+
+        return new TaskRow(uuid(random(TASK, -index - 1)), project, createdBy, assignee, status, priority,
+                createdAt, dueDate, history);
+    }
+
+    // Owner first, then members; power users are picked more often
+    private UUID[] members(int project) {
+        SplittableRandom random = random(PROJECT, project);
+        int target = Math.min(config.getUsers(), 1 + (int) (random.nextDouble() * 2 * (config.getMembersPerProject() - 1) + 0.5));
+        Set<UUID> members = new LinkedHashSet<>();
+        members.add(userId(userDistribution.sample(random)));
+        for (int attempt = 0; members.size() < target && attempt < target * 10; attempt++) {
+            members.add(userId(userDistribution.sample(random)));
+        }
+        return members.toArray(new UUID[0]);
+    }
+
+    private void createHistoryPartitions(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet result = statement.executeQuery(
+                    "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                    "WHERE c.relname = 'task_history'");
+            result.next();
+            if (result.getInt(1) == 0) {
+                return;
+            }
+            for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(now)); month = month.plusMonths(1)) {
+                statement.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS task_history_%d_%02d PARTITION OF task_history FOR VALUES FROM ('%s') TO ('%s')",
+                        month.getYear(), month.getMonthValue(), month.atDay(1), month.plusMonths(1).atDay(1)));
+            }
+        }
+    }
+
+    private interface SliceCopy {
+        long copy(CopyManager copyManager, long from, long to) throws SQLException;
+    }
+
+    private interface TableCopy {
+        long copy() throws Exception;
+    }
+
+    // Splits the tasks into one contiguous range per thread, each with its own connection
+    private long inParallelSlices(SliceCopy sliceCopy) throws Exception {
+        int threads = config.getThreads();
+        long sliceSize = (config.getTasks() + threads - 1) / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                long from = Math.min(config.getTasks(), i * sliceSize);
+                long to = Math.min(config.getTasks(), from + sliceSize);
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        return sliceCopy.copy(connection.unwrap(PGConnection.class).getCopyAPI(), from, to);
+                    }
+                }));
+            }
+            long rows = 0;
+            for (Future<Long> future : futures) {
+                rows += future.get();
+            }
+            return rows;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void timed(String table, TableCopy copy) throws Exception {
+        long started = System.nanoTime();
+        long rows = copy.copy();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%-16s %,12d rows in %7.1fs (%,.0f rows/s)%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+    }
+
+    private SplittableRandom random(long kind, long index) {
+        return new SplittableRandom(mix(config.getSeed() * 31 + kind) ^ mix(index));
+    }
+
+    private UUID userId(int user) {
+        return uuid(random(USER, -user - 1));
+    }
+
+    private UUID projectId(int project) {
+        return uuid(random(PROJECT, -project - 1));
+    }
+
+    // Random (version 4) UUID drawn from the given generator
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static LocalDateTime timeBetween(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long seconds = ChronoUnit.SECONDS.between(from, to);
+        return seconds > 0 ? from.plusSeconds(random.nextLong(seconds)) : from;
+    }
+
+    // Same shape as TaskRank: fixed-width base 36, never ending in '0'
+    private static String rank(long index) {
+        StringBuilder rank = new StringBuilder(Long.toString(index + 1, 36));
+        while (rank.length() < 8) {
+            rank.insert(0, '0');
+        }
+        return rank.append('i').toString();
+    }
+
+    private static String tags(SplittableRandom random) {
+        int count = random.nextInt(4);
+        StringBuilder tags = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                tags.append(',');
+            }
+            tags.append('"').append(TAGS[random.nextInt(TAGS.length)]).append('"');
+        }
+        return tags.append(']').toString();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.perf.seed;
+
+/**
+ * Data seeder settings, given as --name=value arguments.
+ */
+public class SeedConfig {
+
+    private String jdbcUrl = "jdbc:postgresql://localhost:5433/task_manager";
+    private String username = "taskuser";
+    private String password = "taskpass";
+    private long seed = 42;
+    private int users = 20_000;
+    private int projects = 2_000;
+    private long tasks = 2_000_000;
+    private double membersPerProject = 8;
+    private double historyPerTask = 4;
+    // Zipf exponents, 0 means uniform
+    private double projectSkew = 1.1;
+    private double userSkew = 1.0;
+    private int months = 12;
+    private int threads = 4;
+    private boolean truncate = false;
+
+    public static SeedConfig fromArgs(String[] args) {
+        SeedConfig config = new SeedConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "jdbc-url" -> config.jdbcUrl = value;
+                case "username" -> config.username = value;
+                case "password" -> config.password = value;
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "users" -> config.users = Integer.parseInt(value);
+                case "projects" -> config.projects = Integer.parseInt(value);
+                case "tasks" -> config.tasks = Long.parseLong(value);
+                case "members-per-project" -> config.membersPerProject = Double.parseDouble(value);
+                case "history-per-task" -> config.historyPerTask = Double.parseDouble(value);
+                case "project-skew" -> config.projectSkew = Double.parseDouble(value);
+                case "user-skew" -> config.userSkew = Double.parseDouble(value);
+                case "months" -> config.months = Integer.parseInt(value);
+                case "threads" -> config.threads = Integer.parseInt(value);
+                case "truncate" -> config.truncate = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.users <= 0 || config.projects <= 0 || config.tasks < 0 || config.months <= 0 || config.threads <= 0) {
+            throw new IllegalArgumentException("users, projects, months and threads must be positive");
+        }
+        if (config.membersPerProject < 1 || config.historyPerTask < 0) {
+            throw new IllegalArgumentException("members-per-project must be at least 1 and history-per-task not negative");
+        }
+        return config;
+    }
+
+    // Getters
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public double getMembersPerProject() {
+        return membersPerProject;
+    }
+
+    public double getHistoryPerTask() {
+        return historyPerTask;
+    }
+
+    public double getProjectSkew() {
+        return projectSkew;
+    }
+
+    public double getUserSkew() {
+        return userSkew;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isTruncate() {
+        return truncate;
+    }
+}
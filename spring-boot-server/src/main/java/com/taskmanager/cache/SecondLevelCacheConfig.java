@@ -0,0 +1,94 @@
+package com.taskmanager.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caffeine-backed JCache regions for Hibernate's second-level cache. Every region
+ * is bounded by cache.l2.<region>.max-entries and expires entries after
+ * cache.l2.<region>.ttl, so rows changed outside of Hibernate are picked up
+ * eventually. Hibernate itself keeps the regions in sync on writes through the
+ * repositories.
+ */
+@Configuration
+@ImportRuntimeHints(SecondLevelCacheConfig.CachingProviderHints.class)
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String PROJECTS = "projects";
+    public static final String PROJECT_MEMBERS = "project-members";
+    public static final String PROJECT_MEMBERS_BY_PROJECT = "project-members-by-project";
+
+    // Used by Hibernate when the query cache is enabled, even without queries in them
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final List<String> BOUNDED_REGIONS =
+            List.of(USERS, PROJECTS, PROJECT_MEMBERS, PROJECT_MEMBERS_BY_PROJECT, DEFAULT_QUERY_RESULTS);
+
+    @Bean
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (String region : BOUNDED_REGIONS) {
+            long maxEntries = environment.getProperty("cache.l2." + region + ".max-entries", Long.class, 10_000L);
+            Duration ttl = environment.getProperty("cache.l2." + region + ".ttl", Duration.class, Duration.ofMinutes(30));
+
+            CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            createIfMissing(cacheManager, region, configuration);
+        }
+
+        // Query results are only valid while these timestamps are known, so they never expire
+        createIfMissing(cacheManager, UPDATE_TIMESTAMPS, regionConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled, immutable entries, copying them again is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    // The provider shares cache managers per class loader, e.g. across test contexts
+    private void createIfMissing(CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    // The JCache provider and the region factory are instantiated by class name, which a native image has to know about
+    static class CachingProviderHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(CacheModeAwareRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
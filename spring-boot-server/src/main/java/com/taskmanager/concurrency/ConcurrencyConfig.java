@@ -0,0 +1,26 @@
+package com.taskmanager.concurrency;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class ConcurrencyConfig {
+
+    // Publishes permit gauges when the DataSource is wrapped in a ConcurrencyLimitedDataSource
+    @Bean
+    public MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+                    dataSource.unwrap(ConcurrencyLimitedDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to bind database concurrency metrics", e);
+            }
+        };
+    }
+}
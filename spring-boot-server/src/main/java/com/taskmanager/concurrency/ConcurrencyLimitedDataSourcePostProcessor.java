@@ -0,0 +1,52 @@
+package com.taskmanager.concurrency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps DataSource beans in a ConcurrencyLimitedDataSource when db.concurrency-limit.enabled
+ * is set. Runs before MonitoredDataSourcePostProcessor so the monitoring wrapper sits
+ * outside and connection hold times exclude the wait for a permit, and after the
+ * replica routing so permits cover replica connections too.
+ */
+@Component
+public class ConcurrencyLimitedDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitedDataSourcePostProcessor.class);
+
+    // Post-processors are created before @Value injection is available, so read the Environment directly
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ConcurrencyLimitedDataSource
+                || !environment.getProperty("db.concurrency-limit.enabled", Boolean.class, false)) {
+            return bean;
+        }
+
+        int permits = environment.getProperty("db.concurrency-limit.permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration timeout = environment.getProperty("db.concurrency-limit.acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+        log.info("Limiting {} to {} concurrent connections", beanName, permits);
+        return new ConcurrencyLimitedDataSource((DataSource) bean, permits, timeout);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
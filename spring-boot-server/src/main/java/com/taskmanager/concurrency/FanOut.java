@@ -0,0 +1,114 @@
+package com.taskmanager.concurrency;
+
+import com.taskmanager.exception.DeadlineExceededException;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Independent loads started on behalf of one request. Every branch runs in its own
+ * read-only transaction, so it gets its own persistence context and must not share
+ * managed entities with other branches. Joining past the deadline, or any branch
+ * failing, cancels the remaining branches; closing the fan-out does the same for
+ * branches that were never joined.
+ *
+ * Branches need connections of their own, so the caller must not hold one while it
+ * joins: it runs its own loads through call() and stays out of a transaction.
+ */
+public class FanOut implements AutoCloseable {
+
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate transaction;
+    private final Duration timeout;
+    private final long deadline;
+    private final List<Future<?>> branches = new ArrayList<>();
+
+    FanOut(AsyncTaskExecutor executor, TransactionTemplate transaction, Duration timeout) {
+        this.executor = executor;
+        this.transaction = transaction;
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Runs a load on the calling thread in a read-only transaction like the branches',
+     * so its connection is back in the pool before the caller joins them.
+     */
+    public <T> T call(Supplier<T> load) {
+        return transaction.execute(status -> load.get());
+    }
+
+    public <T> Future<T> submit(Supplier<T> load) {
+        Callable<T> branch = () -> transaction.execute(status -> load.get());
+
+        Future<T> future;
+        if (executor == null) {
+            FutureTask<T> task = new FutureTask<>(branch);
+            task.run();
+            future = task;
+        } else {
+            future = executor.submit(branch);
+        }
+        branches.add(future);
+        return future;
+    }
+
+    /**
+     * Waits for a branch until the fan-out's deadline and returns its result.
+     */
+    public <T> T join(Future<T> branch) {
+        try {
+            return branch.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel();
+            throw new DeadlineExceededException("Loading did not finish within " + timeout.toMillis() + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new DeadlineExceededException("Interrupted while loading.");
+        } catch (ExecutionException e) {
+            cancel();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    public <T> List<T> joinAll(List<Future<T>> branches) {
+        List<T> results = new ArrayList<>(branches.size());
+        for (Future<T> branch : branches) {
+            results.add(join(branch));
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        cancel();
+    }
+
+    // Interrupts running branches; a branch waiting for a connection gives up right away,
+    // a statement already sent to the database runs to completion
+    private void cancel() {
+        for (Future<?> branch : branches) {
+            if (!branch.isDone()) {
+                branch.cancel(true);
+            }
+        }
+    }
+}
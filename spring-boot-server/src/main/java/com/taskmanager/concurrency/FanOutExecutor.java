@@ -0,0 +1,99 @@
+package com.taskmanager.concurrency;
+
+import com.taskmanager.metrics.RequestJdbcStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded thread pool for loading independent parts of a response concurrently.
+ * Each request opens its own FanOut, which carries the request's deadline.
+ *
+ * The pool is deliberately not exposed as an Executor bean, since that would
+ * replace Spring Boot's applicationTaskExecutor used for async MVC requests.
+ */
+@Component
+public class FanOutExecutor {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Disabling runs every branch on the calling thread, one after another
+    @Value("${fanout.enabled:true}")
+    private boolean enabled;
+
+    // Every branch holds a connection while it runs, keep this below the pool size
+    @Value("${fanout.threads:6}")
+    private int threads;
+
+    @Value("${fanout.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${fanout.timeout:5s}")
+    private Duration timeout;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fanout-");
+        // A full queue degrades to sequential loading instead of failing the request
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> {
+            RequestJdbcStats stats = RequestJdbcStats.current();
+            // The user decides whether a branch may read from a replica right after their own write
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            return () -> {
+                RequestJdbcStats previous = RequestJdbcStats.attach(stats);
+                SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    task.run();
+                } finally {
+                    SecurityContextHolder.setContext(previousSecurityContext);
+                    RequestJdbcStats.attach(previous);
+                }
+            };
+        });
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "fanout", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Starts a fan-out whose deadline is the configured timeout from now. Its
+     * transactions get the given name, the one @Transactional would give the calling
+     * method, so they are routed to replicas like it.
+     */
+    public FanOut open(String transactionName) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setName(transactionName);
+        return new FanOut(enabled ? executor : null, readOnlyTransaction, timeout);
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams jdk.VirtualThreadPinned JFR events while the application runs. A virtual
+ * thread is pinned when it blocks inside a synchronized block or a native frame, which
+ * keeps its carrier thread busy and silently brings back the platform-thread limit.
+ * Each event is counted per application frame, and the first occurrence of every
+ * frame is logged with its stack trace.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.taskmanager.";
+    private static final int LOGGED_FRAMES = 20;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${threads.pinning.monitor.enabled:false}")
+    private boolean enabled;
+
+    // Pins shorter than this are not recorded
+    @Value("${threads.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual thread pinning monitor needs Java 21, running on {}", Runtime.version());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String frame = applicationFrame(frames);
+
+        meterRegistry.counter("taskmanager.threads.pinned", "frame", frame).increment();
+        Timer.builder("taskmanager.threads.pinned.duration")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reportedFrames.add(frame)) {
+            StringBuilder trace = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+                trace.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            log.warn("Virtual thread pinned its carrier for {} ms in {}{}",
+                    event.getDuration().toMillis(), frame, trace);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned its carrier for {} ms in {}", event.getDuration().toMillis(), frame);
+        }
+    }
+
+    // The innermost application frame says which of our code paths held the monitor,
+    // otherwise fall back to the innermost frame below the JDK's park and sleep internals
+    private String applicationFrame(List<RecordedFrame> frames) {
+        String fallback = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName();
+            }
+            if (fallback == null && !isThreadInternal(type)) {
+                fallback = type + "." + frame.getMethod().getName();
+            }
+        }
+        return fallback != null ? fallback : "unknown";
+    }
+
+    private boolean isThreadInternal(String type) {
+        return type.startsWith("java.lang.VirtualThread") || type.equals("java.lang.Thread")
+                || type.startsWith("jdk.internal.") || type.startsWith("java.util.concurrent.locks.");
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
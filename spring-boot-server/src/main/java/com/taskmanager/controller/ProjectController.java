@@ -1,12 +1,21 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.dto.ActivityFeedDTO;
+import com.taskmanager.dto.FieldSelection;
 import com.taskmanager.dto.ProjectDTO;
+import com.taskmanager.exception.DeadlineExceededException;
+import com.taskmanager.service.ProjectExportService;
 import com.taskmanager.service.ProjectService;
+import com.taskmanager.web.SparseFields;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -20,16 +29,26 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectExportService projectExportService;
+
     private UUID getCurrentUserId(Authentication authentication) {
         return UUID.fromString(authentication.getName());
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getProjects(Authentication authentication) {
+    @SparseFields(ProjectDTO.class)
+    public ResponseEntity<List<ProjectDTO>> getProjects(@RequestParam(required = false) String fields,
+                                                        Authentication authentication) {
         try {
             UUID userId = getCurrentUserId(authentication);
-            List<ProjectDTO> projects = projectService.getUserProjects(userId);
+            FieldSelection selection = FieldSelection.parse(fields, ProjectDTO.class);
+            List<ProjectDTO> projects = projectService.getUserProjects(userId, selection);
             return ResponseEntity.ok(projects);
+        } catch (DeadlineExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -50,11 +69,19 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProject(@PathVariable UUID id, Authentication authentication) {
+    @SparseFields(ProjectDTO.class)
+    public ResponseEntity<ProjectDTO> getProject(@PathVariable UUID id,
+                                                 @RequestParam(required = false) String fields,
+                                                 Authentication authentication) {
         try {
             UUID userId = getCurrentUserId(authentication);
-            ProjectDTO project = projectService.getProjectById(id, userId);
+            FieldSelection selection = FieldSelection.parse(fields, ProjectDTO.class);
+            ProjectDTO project = projectService.getProjectById(id, userId, selection);
             return ResponseEntity.ok(project);
+        } catch (DeadlineExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -90,4 +117,56 @@ public class ProjectController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ActivityFeedDTO> getProjectActivity(@PathVariable UUID id,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            ActivityFeedDTO feed = projectService.getProjectActivity(id, cursor, limit, userId);
+            return ResponseEntity.ok(feed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportProject(@PathVariable UUID id,
+                                                               @RequestParam(defaultValue = "tasks") String dataset,
+                                                               @RequestParam(defaultValue = "csv") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip,
+                                                               Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            ProjectExportService.Dataset exportDataset = ProjectExportService.Dataset.valueOf(dataset.toUpperCase());
+            ProjectExportService.Format exportFormat = ProjectExportService.Format.valueOf(format.toUpperCase());
+            StreamingResponseBody body = projectExportService.exportProject(id, exportDataset, exportFormat, gzip, userId);
+
+            String extension = exportFormat == ProjectExportService.Format.CSV ? "csv" : "ndjson";
+            MediaType contentType = exportFormat == ProjectExportService.Format.CSV ?
+                MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson");
+            String filename = "project-" + id + "-" + dataset.toLowerCase() + "." + extension;
+            if (gzip) {
+                filename += ".gz";
+                contentType = MediaType.parseMediaType("application/gzip");
+            }
+
+            return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.taskmanager.controller;
 
 import com.taskmanager.dto.*;
+import com.taskmanager.exception.TaskVersionConflictException;
 import com.taskmanager.model.Priority;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.TaskHistory;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.web.SparseFields;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -26,16 +33,25 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskImportService taskImportService;
+
     private UUID getCurrentUserId(Authentication authentication) {
         return UUID.fromString(authentication.getName());
     }
 
     @GetMapping("/projects/{projectId}")
-    public ResponseEntity<List<TaskDTO>> getProjectTasks(@PathVariable UUID projectId, Authentication authentication) {
+    @SparseFields(TaskDTO.class)
+    public ResponseEntity<List<TaskDTO>> getProjectTasks(@PathVariable UUID projectId,
+                                                         @RequestParam(required = false) String fields,
+                                                         Authentication authentication) {
         try {
             UUID userId = getCurrentUserId(authentication);
-            List<TaskDTO> tasks = taskService.getProjectTasks(projectId, userId);
+            FieldSelection selection = FieldSelection.parse(fields, TaskDTO.class);
+            List<TaskDTO> tasks = taskService.getProjectTasks(projectId, userId, selection);
             return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -43,6 +59,47 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/projects/{projectId}/board")
+    @SparseFields(TaskDTO.class)
+    public ResponseEntity<BoardDTO> getProjectBoard(@PathVariable UUID projectId,
+                                                    @RequestParam(required = false) TaskStatus status,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String fields,
+                                                    Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            FieldSelection selection = FieldSelection.parse(fields, TaskDTO.class);
+            BoardDTO board = taskService.getProjectBoard(projectId, status, cursor, limit, userId, selection);
+            return ResponseEntity.ok(board);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/assigned")
+    @SparseFields(TaskDTO.class)
+    public ResponseEntity<AssignedTasksDTO> getAssignedTasks(@RequestParam(required = false) TaskStatus status,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String fields,
+                                                             Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            FieldSelection selection = FieldSelection.parse(fields, TaskDTO.class);
+            AssignedTasksDTO tasks = taskService.getAssignedTasks(userId, status, cursor, limit, selection);
+            return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping("/projects/{projectId}")
     public ResponseEntity<TaskDTO> createTask(@PathVariable UUID projectId, @RequestBody Map<String, Object> request, Authentication authentication) {
         try {
@@ -70,6 +127,26 @@ public class TaskController {
         }
     }
 
+    // The body is read as a stream so large uploads are never held in memory
+    @PostMapping(value = "/projects/{projectId}/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<TaskImportResponse> importTasks(@PathVariable UUID projectId, HttpServletRequest request, Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            TaskImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv")) ?
+                TaskImportService.Format.CSV : TaskImportService.Format.NDJSON;
+            TaskImportResponse response = taskImportService.importTasks(projectId, request.getInputStream(), format, userId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(@PathVariable UUID id, @RequestBody Map<String, Object> request, Authentication authentication) {
         try {
@@ -111,11 +188,43 @@ public class TaskController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<TaskDTO> patchTask(@PathVariable UUID id, @RequestBody TaskPatchDTO patchDTO, Authentication authentication) {
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable UUID id, @RequestBody TaskPatchDTO patchDTO,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch,
+                                             Authentication authentication) {
+        Integer expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? parseVersionETag(ifMatch) : patchDTO.getVersion();
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
         try {
             UUID userId = getCurrentUserId(authentication);
-            TaskDTO task = taskService.patchTask(id, patchDTO, userId);
-            return ResponseEntity.ok(task);
+            TaskDTO task = taskService.patchTask(id, patchDTO, expectedVersion, userId);
+            return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
+        } catch (TaskVersionConflictException e) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+            if (e.getCurrentVersion() != null) {
+                response.eTag(String.valueOf(e.getCurrentVersion()));
+            }
+            return response.build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/{id}/move")
+    public ResponseEntity<TaskDTO> moveTask(@PathVariable UUID id, @RequestBody TaskMoveDTO moveDTO, Authentication authentication) {
+        try {
+            UUID userId = getCurrentUserId(authentication);
+            TaskDTO task = taskService.moveTask(id, moveDTO, userId);
+            return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -135,10 +244,13 @@ public class TaskController {
     }
 
     @GetMapping("/{id}/history")
-    public ResponseEntity<List<TaskHistoryDTO>> getTaskHistory(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<List<TaskHistoryDTO>> getTaskHistory(@PathVariable UUID id,
+                                                               @RequestParam(required = false) Integer days,
+                                                               Authentication authentication) {
         try {
             UUID userId = getCurrentUserId(authentication);
-            List<TaskHistory> history = taskService.getTaskHistory(id, userId);
+            List<TaskHistory> history = days != null ?
+                taskService.getRecentTaskHistory(id, days, userId) : taskService.getTaskHistory(id, userId);
             List<TaskHistoryDTO> historyDTOs = history.stream().map(this::convertToHistoryDTO).collect(Collectors.toList());
             return ResponseEntity.ok(historyDTOs);
         } catch (RuntimeException e) {
@@ -152,6 +264,7 @@ public class TaskController {
         TaskHistoryDTO dto = new TaskHistoryDTO();
         dto.setId(history.getId());
         dto.setTaskId(history.getTaskId());
+        dto.setProjectId(history.getProjectId());
         dto.setFieldName(history.getFieldName());
         dto.setOldValue(history.getOldValue());
         dto.setNewValue(history.getNewValue());
@@ -174,6 +287,18 @@ public class TaskController {
         return dto;
     }
     
+    // Accepts 3, "3" and W/"3"; * means any version
+    private Integer parseVersionETag(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        return Integer.valueOf(tag.replace("\"", ""));
+    }
+    
     private LocalDateTime parseDateTime(String dateTimeStr) {
         if (dateTimeStr == null || dateTimeStr.isEmpty()) {
             return null;
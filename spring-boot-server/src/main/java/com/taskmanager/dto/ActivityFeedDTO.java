@@ -0,0 +1,33 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+public class ActivityFeedDTO {
+    private List<TaskHistoryDTO> entries;
+    private String nextCursor;
+
+    public ActivityFeedDTO() {
+    }
+
+    public ActivityFeedDTO(List<TaskHistoryDTO> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<TaskHistoryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<TaskHistoryDTO> entries) {
+        this.entries = entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
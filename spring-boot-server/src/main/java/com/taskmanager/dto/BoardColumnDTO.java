@@ -0,0 +1,54 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskStatus;
+import java.util.List;
+
+public class BoardColumnDTO {
+    private TaskStatus status;
+    private long totalCount;
+    private List<TaskDTO> tasks;
+    private String nextCursor;
+
+    public BoardColumnDTO() {
+    }
+
+    public BoardColumnDTO(TaskStatus status, long totalCount, List<TaskDTO> tasks, String nextCursor) {
+        this.status = status;
+        this.totalCount = totalCount;
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BoardDTO {
+    private UUID projectId;
+    private List<BoardColumnDTO> columns;
+
+    public BoardDTO() {
+    }
+
+    public BoardDTO(UUID projectId, List<BoardColumnDTO> columns) {
+        this.projectId = projectId;
+        this.columns = columns;
+    }
+
+    // Getters and Setters
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<BoardColumnDTO> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<BoardColumnDTO> columns) {
+        this.columns = columns;
+    }
+}
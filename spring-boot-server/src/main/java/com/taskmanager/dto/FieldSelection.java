@@ -0,0 +1,140 @@
+package com.taskmanager.dto;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Fields a client asked for with the fields= parameter, e.g.
+ * "id,title,status,assignee.name". A nested path selects part of a nested DTO, a
+ * plain name selects the whole field. Services use the selection to skip columns
+ * and lookups nobody asked for, and the response is filtered to the same fields.
+ */
+public class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    // Field name to the selection below it, null means everything is selected
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated list of field paths and checks each of them against
+     * the fields of rootType. A missing or blank list selects everything.
+     */
+    public static FieldSelection parse(String spec, Class<?> rootType) {
+        if (spec == null || spec.isBlank()) {
+            return ALL;
+        }
+
+        Map<String, Object> tree = new LinkedHashMap<>();
+        for (String path : spec.split(",")) {
+            if (path.isBlank()) {
+                continue;
+            }
+            Class<?> type = rootType;
+            Map<String, Object> level = tree;
+            String[] segments = path.trim().split("\\.");
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (type == null) {
+                    throw new IllegalArgumentException("Field " + path + " has no nested fields.");
+                }
+                Field field = findField(type, segment);
+                if (field == null) {
+                    throw new IllegalArgumentException("Unknown field " + path + ".");
+                }
+                type = nestedDtoType(field);
+
+                boolean last = i == segments.length - 1;
+                Object existing = level.get(segment);
+                if (last || existing == Boolean.TRUE) {
+                    // A whole field wins over parts of it
+                    level.put(segment, Boolean.TRUE);
+                    break;
+                }
+                if (existing == null) {
+                    existing = new LinkedHashMap<String, Object>();
+                    level.put(segment, existing);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> next = (Map<String, Object>) existing;
+                level = next;
+            }
+        }
+        return tree.isEmpty() ? ALL : fromTree(tree);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * Whether the field is selected, entirely or in part.
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * The selection inside a nested field, ALL when the field is selected entirely.
+     */
+    public FieldSelection child(String field) {
+        if (fields == null) {
+            return ALL;
+        }
+        FieldSelection child = fields.get(field);
+        return child != null ? child : new FieldSelection(Collections.emptyMap());
+    }
+
+    /**
+     * Whether a dotted path, relative to the root of this selection, is selected.
+     */
+    public boolean includesPath(List<String> path) {
+        FieldSelection selection = this;
+        for (String segment : path) {
+            if (selection.isAll()) {
+                return true;
+            }
+            if (!selection.includes(segment)) {
+                return false;
+            }
+            selection = selection.child(segment);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FieldSelection fromTree(Map<String, Object> tree) {
+        Map<String, FieldSelection> fields = new HashMap<>();
+        for (Map.Entry<String, Object> entry : tree.entrySet()) {
+            fields.put(entry.getKey(), entry.getValue() == Boolean.TRUE ?
+                    ALL : fromTree((Map<String, Object>) entry.getValue()));
+        }
+        return new FieldSelection(fields);
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    // DTO type a field holds, directly or as list elements, null for plain values
+    private static Class<?> nestedDtoType(Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof ParameterizedType && List.class.isAssignableFrom(field.getType())) {
+            type = ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        if (type instanceof Class<?> && ((Class<?>) type).getPackage() == FieldSelection.class.getPackage()) {
+            return (Class<?>) type;
+        }
+        return null;
+    }
+}
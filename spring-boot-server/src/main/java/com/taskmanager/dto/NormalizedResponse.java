@@ -0,0 +1,38 @@
+package com.taskmanager.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A response body whose tasks, projects and members reference users by ID only.
+ * Each referenced user is listed once in users.
+ */
+public class NormalizedResponse {
+    private Object data;
+    private Map<UUID, UserDTO> users;
+
+    public NormalizedResponse() {
+    }
+
+    public NormalizedResponse(Object data, Map<UUID, UserDTO> users) {
+        this.data = data;
+        this.users = users;
+    }
+
+    // Getters and Setters
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+
+    public Map<UUID, UserDTO> getUsers() {
+        return users;
+    }
+
+    public void setUsers(Map<UUID, UserDTO> users) {
+        this.users = users;
+    }
+}
@@ -14,6 +14,7 @@ public class TaskDTO {
     private UUID projectId;
     private UUID assigneeId;
     private UUID createdBy;
+    private String rank;
     private LocalDateTime startDate;
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
@@ -95,6 +96,14 @@ public class TaskDTO {
         this.createdBy = createdBy;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
     public LocalDateTime getStartDate() {
         return startDate;
     }
@@ -7,6 +7,7 @@ import java.util.UUID;
 public class TaskHistoryDTO {
     private UUID id;
     private UUID taskId;
+    private UUID projectId;
     private String fieldName;
     private String oldValue;
     private String newValue;
@@ -36,6 +37,14 @@ public class TaskHistoryDTO {
         this.taskId = taskId;
     }
 
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
     public String getFieldName() {
         return fieldName;
     }
@@ -0,0 +1,41 @@
+package com.taskmanager.dto;
+
+public class TaskImportError {
+    private long rowNumber;
+    private String errorMessage;
+    private String errorCode;
+
+    public TaskImportError() {
+    }
+
+    public TaskImportError(long rowNumber, String errorMessage, String errorCode) {
+        this.rowNumber = rowNumber;
+        this.errorMessage = errorMessage;
+        this.errorCode = errorCode;
+    }
+
+    // Getters and Setters
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskImportResponse {
+    private long totalRows;
+    private long totalImported;
+    private long totalFailed;
+    private List<TaskImportError> errors;
+    // True when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+
+    public TaskImportResponse() {
+    }
+
+    public TaskImportResponse(long totalRows, long totalImported, long totalFailed,
+                              List<TaskImportError> errors, boolean errorsTruncated) {
+        this.totalRows = totalRows;
+        this.totalImported = totalImported;
+        this.totalFailed = totalFailed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getTotalImported() {
+        return totalImported;
+    }
+
+    public void setTotalImported(long totalImported) {
+        this.totalImported = totalImported;
+    }
+
+    public long getTotalFailed() {
+        return totalFailed;
+    }
+
+    public void setTotalFailed(long totalFailed) {
+        this.totalFailed = totalFailed;
+    }
+
+    public List<TaskImportError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TaskImportError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
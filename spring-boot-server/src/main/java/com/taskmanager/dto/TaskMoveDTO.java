@@ -0,0 +1,40 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.model.TaskStatus;
+import java.util.UUID;
+
+public class TaskMoveDTO {
+    private TaskStatus status;
+    // Card directly above the drop position, null when dropped at the top
+    private UUID previousTaskId;
+    // Card directly below the drop position, null when dropped at the bottom
+    private UUID nextTaskId;
+
+    public TaskMoveDTO() {
+    }
+
+    // Getters and Setters
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public UUID getPreviousTaskId() {
+        return previousTaskId;
+    }
+
+    public void setPreviousTaskId(UUID previousTaskId) {
+        this.previousTaskId = previousTaskId;
+    }
+
+    public UUID getNextTaskId() {
+        return nextTaskId;
+    }
+
+    public void setNextTaskId(UUID nextTaskId) {
+        this.nextTaskId = nextTaskId;
+    }
+}
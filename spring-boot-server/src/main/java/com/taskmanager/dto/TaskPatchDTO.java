@@ -17,6 +17,8 @@ public class TaskPatchDTO {
     private LocalDateTime dueDate;
     private List<String> tags;
     private Map<String, Object> customFields;
+    // Optional precondition, equivalent to sending the version in If-Match
+    private Integer version;
 
     public TaskPatchDTO() {
     }
@@ -93,4 +95,12 @@ public class TaskPatchDTO {
     public void setCustomFields(Map<String, Object> customFields) {
         this.customFields = customFields;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.taskmanager.exception;
+
+/**
+ * Thrown when work done on behalf of a request does not finish within the
+ * request's deadline. The unfinished work has been cancelled.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
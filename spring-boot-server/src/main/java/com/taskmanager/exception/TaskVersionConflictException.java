@@ -0,0 +1,26 @@
+package com.taskmanager.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a conditional task update was based on a stale version and the
+ * concurrent changes cannot be merged automatically.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+    private final UUID taskId;
+    private final Integer currentVersion;
+
+    public TaskVersionConflictException(UUID taskId, Integer currentVersion) {
+        super("Task " + taskId + " was modified concurrently.");
+        this.taskId = taskId;
+        this.currentVersion = currentVersion;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,99 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per endpoint how long each request kept JDBC connections checked out,
+ * how many statements it executed and how long they took. Requests above the
+ * statement threshold are logged with their repeated statements, which is how
+ * N+1 query patterns show up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class JdbcRequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRequestMetricsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Statements per request above which the request is logged, 0 disables logging
+    @Value("${metrics.jdbc.statement-warn-threshold:20}")
+    private int statementWarnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestJdbcStats stats = RequestJdbcStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestJdbcStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestJdbcStats stats) {
+        String method = request.getMethod();
+        String uri = getUriTemplate(request);
+
+        DistributionSummary.builder("taskmanager.jdbc.statements")
+                .description("Number of SQL statements executed while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+
+        if (stats.getConnectionCount() == 0) {
+            return;
+        }
+
+        Timer.builder("taskmanager.jdbc.connection.hold")
+                .description("Time JDBC connections were checked out while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+
+        Timer.builder("taskmanager.jdbc.statement.time")
+                .description("Total time spent executing SQL statements while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementWarnThreshold > 0 && stats.getStatementCount() > statementWarnThreshold) {
+            StringBuilder repeated = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : stats.getRepeatedStatements().entrySet()) {
+                repeated.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+            }
+            log.warn("{} {} executed {} statements in {} ms (threshold {}), repeated statements:{}",
+                    method, uri, stats.getStatementCount(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getStatementNanos()),
+                    statementWarnThreshold, repeated.length() > 0 ? repeated : " none");
+        }
+    }
+
+    static String getUriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
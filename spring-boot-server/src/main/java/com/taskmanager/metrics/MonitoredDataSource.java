@@ -0,0 +1,130 @@
+package com.taskmanager.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the application DataSource so connections checked out while serving an
+ * HTTP request report their hold time, statement count and statement time to
+ * that request's RequestJdbcStats.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+
+    public MonitoredDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor(super.getConnection(username, password));
+    }
+
+    private Connection monitor(Connection connection) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new MonitoredConnectionHandler(connection, stats));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class MonitoredConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final RequestJdbcStats stats;
+        private final long openedAt = System.nanoTime();
+        private boolean closed;
+
+        MonitoredConnectionHandler(Connection target, RequestJdbcStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        stats.connectionReleased(System.nanoTime() - openedAt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall carry the SQL, createStatement passes it on execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()},
+                        new MonitoredStatementHandler(result, sql, stats));
+            }
+            return result;
+        }
+    }
+
+    private static class MonitoredStatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String preparedSql;
+        private final RequestJdbcStats stats;
+
+        MonitoredStatementHandler(Object target, String preparedSql, RequestJdbcStats stats) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                stats.statementExecuted(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
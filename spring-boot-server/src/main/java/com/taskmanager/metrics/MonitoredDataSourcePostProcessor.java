@@ -0,0 +1,18 @@
+package com.taskmanager.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class MonitoredDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof MonitoredDataSource)) {
+            return new MonitoredDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskmanager.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC usage of the HTTP request handled by the current thread. Connections keep a
+ * reference to the stats they were opened under, so usage is attributed correctly
+ * even if a connection is closed on another thread.
+ */
+public class RequestJdbcStats {
+
+    private static final ThreadLocal<RequestJdbcStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicLong connectionHoldNanos = new AtomicLong();
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicLong statementNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> fingerprints = new ConcurrentHashMap<>();
+
+    public static RequestJdbcStats begin() {
+        RequestJdbcStats stats = new RequestJdbcStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestJdbcStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given stats current on this thread, so work handed to another thread
+     * is attributed to the request that started it. Returns the previous stats so the
+     * caller can restore them.
+     */
+    public static RequestJdbcStats attach(RequestJdbcStats stats) {
+        RequestJdbcStats previous = CURRENT.get();
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Reduces a statement to its shape so that the same query with different
+     * literals or IN list sizes maps to the same fingerprint.
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    void connectionReleased(long holdNanos) {
+        connectionCount.incrementAndGet();
+        connectionHoldNanos.addAndGet(holdNanos);
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        statementCount.incrementAndGet();
+        statementNanos.addAndGet(nanos);
+        fingerprints.computeIfAbsent(fingerprint(sql), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public long getConnectionHoldNanos() {
+        return connectionHoldNanos.get();
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public long getStatementNanos() {
+        return statementNanos.get();
+    }
+
+    /**
+     * Fingerprints executed more than once in this request, most frequent first.
+     */
+    public Map<String, Integer> getRepeatedStatements() {
+        return fingerprints.entrySet().stream()
+                .filter(entry -> entry.getValue().get() > 1)
+                .sorted((a, b) -> Integer.compare(b.getValue().get(), a.getValue().get()))
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -1,12 +1,17 @@
 package com.taskmanager.model;
 
+import com.taskmanager.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS)
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -27,6 +32,10 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when the project is deleted; the row stays until ProjectPurgeService has removed its contents
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     // Relations
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", insertable = false, updatable = false)
@@ -109,6 +118,14 @@ public class Project {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -1,11 +1,16 @@
 package com.taskmanager.model;
 
+import com.taskmanager.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "project_members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECT_MEMBERS)
 public class ProjectMember {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -3,11 +3,14 @@ package com.taskmanager.model;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
 @Table(name = "tasks")
+// Updates only write the changed columns, so a patch never writes back a rank rebalanced meanwhile
+@DynamicUpdate
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -36,6 +39,10 @@ public class Task {
     @Column(name = "created_by", nullable = false)
     private UUID createdBy;
 
+    // Position inside the status column, see TaskRank
+    @Column(name = "rank", nullable = false, columnDefinition = "VARCHAR(255) COLLATE \"C\"")
+    private String rank;
+
     @Column(name = "start_date")
     private LocalDateTime startDate;
 
@@ -49,8 +56,10 @@ public class Task {
     private LocalDateTime updatedAt;
 
     // New fields for enhanced editing functionality
+    // Optimistic locking: Hibernate increments the version and checks it on every update
+    @Version
     @Column(name = "version", nullable = false)
-    private Integer version = 1;
+    private Integer version;
 
     @Column(name = "last_edited_by")
     private UUID lastEditedBy;
@@ -107,7 +116,6 @@ public class Task {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        version += 1;
     }
 
     // Getters and Setters
@@ -175,6 +183,14 @@ public class Task {
         this.createdBy = createdBy;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
     public LocalDateTime getStartDate() {
         return startDate;
     }
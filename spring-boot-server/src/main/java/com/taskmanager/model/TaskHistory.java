@@ -14,6 +14,9 @@ public class TaskHistory {
     @Column(name = "task_id", nullable = false)
     private UUID taskId;
     
+    @Column(name = "project_id")
+    private UUID projectId;
+    
     @Column(name = "field_name", nullable = false)
     private String fieldName;
     
@@ -36,6 +39,9 @@ public class TaskHistory {
     @Column(name = "description")
     private String description;
     
+    @Column(name = "task_version")
+    private Integer taskVersion;
+    
     // Relations
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", insertable = false, updatable = false)
@@ -49,9 +55,10 @@ public class TaskHistory {
     public TaskHistory() {
     }
     
-    public TaskHistory(UUID taskId, String fieldName, String oldValue, String newValue, 
+    public TaskHistory(UUID taskId, UUID projectId, String fieldName, String oldValue, String newValue, 
                       UUID changedBy, ChangeType changeType, String description) {
         this.taskId = taskId;
+        this.projectId = projectId;
         this.fieldName = fieldName;
         this.oldValue = oldValue;
         this.newValue = newValue;
@@ -86,6 +93,14 @@ public class TaskHistory {
         this.taskId = taskId;
     }
     
+    public UUID getProjectId() {
+        return projectId;
+    }
+    
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+    
     public String getFieldName() {
         return fieldName;
     }
@@ -142,6 +157,14 @@ public class TaskHistory {
         this.description = description;
     }
     
+    public Integer getTaskVersion() {
+        return taskVersion;
+    }
+    
+    public void setTaskVersion(Integer taskVersion) {
+        this.taskVersion = taskVersion;
+    }
+    
     public Task getTask() {
         return task;
     }
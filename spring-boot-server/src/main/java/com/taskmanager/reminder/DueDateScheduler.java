@@ -0,0 +1,326 @@
+package com.taskmanager.reminder;
+
+import com.taskmanager.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fires TaskDueEvents for task due dates. Instead of polling the tasks table, the
+ * due dates of the next reminders.window are loaded into a TimingWheel, one timer per
+ * task: first for its reminder, reminders.lead-time ahead, then for the due date
+ * itself. Every reminders.refresh-interval the window slides on and only the newly
+ * covered due dates are read. Changes made through TaskService update the wheel as
+ * they commit, and every timer is checked against the task's row before it fires, so
+ * tasks that were deleted, done or moved in the meantime do not fire.
+ *
+ * The wheel lives in this instance's memory: events fire at most once, none fire for
+ * due dates that passed while the application was down, and only one instance should
+ * run with reminders.enabled.
+ */
+@Component
+public class DueDateScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DueDateScheduler.class);
+
+    private static final int SLOTS_PER_LEVEL = 256;
+    private static final int FIRE_BATCH_SIZE = 500;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    // Paired with a due date, starts a load after every task due exactly then
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    private static final String LOAD_SQL = "SELECT id, due_date FROM tasks " +
+            "WHERE status <> 'DONE' AND due_date >= ? AND due_date <= ? AND (due_date, id) > (?, ?) " +
+            "ORDER BY due_date, id LIMIT ?";
+
+    private static final String FIRE_SQL = "SELECT t.id, t.title, t.project_id, t.assignee_id, t.due_date " +
+            "FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE t.status <> 'DONE' AND p.deleted_at IS NULL AND t.id IN (%s)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reminders.enabled:false}")
+    private boolean enabled;
+
+    @Value("${reminders.lead-time:1h}")
+    private Duration leadTime;
+
+    @Value("${reminders.window:24h}")
+    private Duration window;
+
+    @Value("${reminders.refresh-interval:15m}")
+    private Duration refreshInterval;
+
+    @Value("${reminders.tick:1s}")
+    private Duration tick;
+
+    @Value("${reminders.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    // Guards the wheel and loadedUntil
+    private final Object lock = new Object();
+
+    private TimingWheel<UUID> wheel;
+
+    // Due dates up to here are in the wheel, later ones are read when the window slides on;
+    // null until the first load
+    private LocalDateTime loadedUntil;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private Counter remindersFired;
+    private Counter overdueFired;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (window.compareTo(leadTime.plus(refreshInterval)) < 0) {
+            throw new IllegalStateException("reminders.window must be at least reminders.lead-time plus reminders.refresh-interval.");
+        }
+        wheel = new TimingWheel<>(tick, SLOTS_PER_LEVEL, System.currentTimeMillis());
+
+        remindersFired = Counter.builder("taskmanager.reminders.fired").tag("kind", "reminder").register(meterRegistry);
+        overdueFired = Counter.builder("taskmanager.reminders.fired").tag("kind", "overdue").register(meterRegistry);
+        Gauge.builder("taskmanager.reminders.pending", this, dueDates -> dueDates.wheel.size()).register(meterRegistry);
+
+        // Loads and ticks share one thread, so a timer never fires while its window is half read
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("due-dates-");
+        scheduler.initialize();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startTicking() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::slideWindow, refreshInterval);
+        scheduler.scheduleAtFixedRate(this::tick, tick);
+    }
+
+    /**
+     * Brings the task's timer in line with its new due date and status once the
+     * current transaction has committed. Call it whenever either changes.
+     */
+    public void dueDateChanged(UUID taskId, LocalDateTime dueDate, TaskStatus status) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (lock) {
+                if (loadedUntil == null) {
+                    return;
+                }
+                if (dueDate == null || status == TaskStatus.DONE || dueDate.isAfter(loadedUntil)) {
+                    wheel.cancel(taskId);
+                } else {
+                    // A due date moved inside the lead time still gets its reminder
+                    schedule(taskId, dueDate, false, true);
+                }
+            }
+        });
+    }
+
+    public void taskDeleted(UUID taskId) {
+        dueDateChanged(taskId, null, null);
+    }
+
+    /**
+     * Reads the loaded window again once the current transaction has committed, for
+     * writes that bypass TaskService such as imports. Tasks that already have a timer
+     * keep it.
+     */
+    public void reloadAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> scheduler.execute(() -> {
+            LocalDateTime until;
+            synchronized (lock) {
+                until = loadedUntil;
+            }
+            if (until != null) {
+                load(LocalDateTime.now(), until);
+            }
+        }));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void slideWindow() {
+        long started = System.nanoTime();
+        LocalDateTime from;
+        LocalDateTime until = LocalDateTime.now().plus(window);
+        // Moved before reading, so changes committed during the load already reach the wheel
+        synchronized (lock) {
+            from = loadedUntil != null ? loadedUntil : LocalDateTime.now();
+            loadedUntil = until;
+        }
+        try {
+            int loaded = load(from, until);
+            log.info("Loaded {} due dates up to {} in {} ms, {} pending", loaded, until,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), wheel.size());
+        } catch (DataAccessException e) {
+            // Rewound so the next slide reads the same due dates again
+            synchronized (lock) {
+                if (until.equals(loadedUntil)) {
+                    loadedUntil = from;
+                }
+            }
+            log.warn("Loading due dates up to {} failed, retrying in {}", until, refreshInterval, e);
+        }
+    }
+
+    // Loads the due dates after from and up to until in keyset batches, so every batch
+    // is a range of the due date index and the lock is only held for one batch at a time
+    private int load(LocalDateTime from, LocalDateTime until) {
+        int loaded = 0;
+        LocalDateTime afterDueDate = from;
+        UUID afterId = LAST_ID;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(LOAD_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getObject(1, UUID.class), rs.getObject(2, LocalDateTime.class)},
+                    afterDueDate, until, afterDueDate, afterId, loadBatchSize);
+            synchronized (lock) {
+                for (Object[] row : rows) {
+                    // A timer that is already there came from a newer change
+                    if (schedule((UUID) row[0], (LocalDateTime) row[1], true, false)) {
+                        loaded++;
+                    }
+                }
+            }
+            if (rows.size() < loadBatchSize) {
+                return loaded;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = (UUID) last[0];
+            afterDueDate = (LocalDateTime) last[1];
+        }
+    }
+
+    // Sets the timer for the reminder while that is ahead, otherwise for the due date.
+    // Must hold the lock.
+    private boolean schedule(UUID taskId, LocalDateTime dueDate, boolean ifAbsent, boolean remindLate) {
+        long dueAt = toMillis(dueDate);
+        long remindAt = dueAt - leadTime.toMillis();
+        long deadline = remindLate || remindAt > System.currentTimeMillis() ? remindAt : dueAt;
+        if (ifAbsent) {
+            return wheel.scheduleIfAbsent(taskId, deadline, dueAt);
+        }
+        wheel.schedule(taskId, deadline, dueAt);
+        return true;
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        Map<UUID, Long> expired = new LinkedHashMap<>();
+        synchronized (lock) {
+            wheel.advance(now, expired::put);
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<UUID> taskIds = new ArrayList<>(expired.keySet());
+        for (int from = 0; from < taskIds.size(); from += FIRE_BATCH_SIZE) {
+            List<UUID> batch = taskIds.subList(from, Math.min(from + FIRE_BATCH_SIZE, taskIds.size()));
+            try {
+                fire(batch, expired, now);
+            } catch (DataAccessException e) {
+                log.warn("Checking {} due tasks failed, retrying in {}", batch.size(), RETRY_DELAY, e);
+                synchronized (lock) {
+                    batch.forEach(taskId -> wheel.scheduleIfAbsent(taskId, now + RETRY_DELAY.toMillis(), expired.get(taskId)));
+                }
+            }
+        }
+    }
+
+    // Publishes the events of the expired timers whose tasks are still open and due as
+    // the timer expected. Tasks whose due date moved without the wheel hearing of it,
+    // through another instance for example, are scheduled for the new one instead.
+    private void fire(List<UUID> taskIds, Map<UUID, Long> expired, long now) {
+        String sql = String.format(FIRE_SQL, String.join(",", Collections.nCopies(taskIds.size(), "?")));
+        List<TaskDueEvent> events = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            UUID taskId = rs.getObject("id", UUID.class);
+            LocalDateTime dueDate = rs.getObject("due_date", LocalDateTime.class);
+            long dueAt = expired.get(taskId);
+            synchronized (lock) {
+                if (dueDate == null || toMillis(dueDate) != dueAt) {
+                    if (dueDate != null && !dueDate.isAfter(loadedUntil) && toMillis(dueDate) > now) {
+                        schedule(taskId, dueDate, true, false);
+                    }
+                    return;
+                }
+                TaskDueEvent.Kind kind = now < dueAt ? TaskDueEvent.Kind.REMINDER : TaskDueEvent.Kind.OVERDUE;
+                if (kind == TaskDueEvent.Kind.REMINDER) {
+                    wheel.scheduleIfAbsent(taskId, dueAt, dueAt);
+                }
+                events.add(new TaskDueEvent(kind, taskId, rs.getObject("project_id", UUID.class),
+                        rs.getObject("assignee_id", UUID.class), rs.getString("title"), dueDate));
+            }
+        }, taskIds.toArray());
+
+        for (TaskDueEvent event : events) {
+            eventPublisher.publishEvent(event);
+            (event.getKind() == TaskDueEvent.Kind.REMINDER ? remindersFired : overdueFired).increment();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanager.reminder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by DueDateScheduler when a task's reminder comes due, reminders.lead-time
+ * before its due date, and again when the due date passes while the task is not DONE.
+ * Listeners run on the scheduler's thread and should hand slow work off.
+ */
+public class TaskDueEvent {
+
+    public enum Kind {
+        REMINDER,
+        OVERDUE
+    }
+
+    private final Kind kind;
+    private final UUID taskId;
+    private final UUID projectId;
+    private final UUID assigneeId;
+    private final String title;
+    private final LocalDateTime dueDate;
+
+    public TaskDueEvent(Kind kind, UUID taskId, UUID projectId, UUID assigneeId, String title, LocalDateTime dueDate) {
+        this.kind = kind;
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.assigneeId = assigneeId;
+        this.title = title;
+        this.dueDate = dueDate;
+    }
+
+    // Getters
+    public Kind getKind() {
+        return kind;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public UUID getAssigneeId() {
+        return assigneeId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+}
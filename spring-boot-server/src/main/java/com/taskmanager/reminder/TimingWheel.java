@@ -0,0 +1,200 @@
+package com.taskmanager.reminder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding at most one timer per key. Level 0 has one slot
+ * per tick, every higher level slots as wide as a full turn of the level below, and
+ * timers move down a level when the wheel turns past their slot. Scheduling,
+ * rescheduling and cancelling are constant time whatever the number of timers;
+ * advancing costs one slot per elapsed tick plus the timers that fire or move down.
+ *
+ * A timer fires on the first tick at or after its deadline, so never early and at
+ * most one tick late. Deadlines beyond the top level are parked in its farthest slot
+ * and placed again when it comes around. Not thread-safe.
+ */
+public class TimingWheel<K> {
+
+    private static final int LEVELS = 4;
+
+    @FunctionalInterface
+    public interface Expiry<K> {
+        void expired(K key, long attachment);
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private long tick;
+        private long attachment;
+        private int level;
+        private int slot;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        private Timer(K key) {
+            this.key = key;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Timer<K>[][] slots;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+
+    // The next tick to expire; all earlier ones have fired
+    private long nextTick;
+
+    /**
+     * Creates a wheel of slotsPerLevel slots on each level, a power of two, starting
+     * at startMillis. With one second ticks and 256 slots the levels span about
+     * 4 minutes, 18 hours, 194 days and 136 years.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int slotsPerLevel, long startMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least one millisecond.");
+        }
+        if (slotsPerLevel < 2 || Integer.bitCount(slotsPerLevel) != 1) {
+            throw new IllegalArgumentException("Slots per level must be a power of two.");
+        }
+        this.tickMillis = tick.toMillis();
+        this.bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        this.mask = slotsPerLevel - 1;
+        this.slots = new Timer[LEVELS][slotsPerLevel];
+        this.nextTick = Math.floorDiv(startMillis, tickMillis) + 1;
+    }
+
+    /**
+     * Schedules the key to expire at deadlineMillis with the given attachment,
+     * replacing its current timer. A deadline that has passed fires on the next tick.
+     */
+    public void schedule(K key, long deadlineMillis, long attachment) {
+        Timer<K> timer = timers.get(key);
+        if (timer != null) {
+            unlink(timer);
+        } else {
+            timer = new Timer<>(key);
+            timers.put(key, timer);
+        }
+        timer.tick = -Math.floorDiv(-deadlineMillis, tickMillis);
+        timer.attachment = attachment;
+        place(timer);
+    }
+
+    /**
+     * Schedules the key unless it already has a timer. Returns whether it was scheduled.
+     */
+    public boolean scheduleIfAbsent(K key, long deadlineMillis, long attachment) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        schedule(key, deadlineMillis, attachment);
+        return true;
+    }
+
+    /**
+     * Cancels the key's timer. Returns whether it had one.
+     */
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Turns the wheel up to nowMillis and hands every timer that came due to expiry,
+     * earliest tick first. The timers are removed before expiry sees them, so it may
+     * schedule their keys again. Returns the number of expired timers.
+     */
+    public int advance(long nowMillis, Expiry<K> expiry) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        int expired = 0;
+        while (nextTick <= nowTick) {
+            int index = (int) (nextTick & mask);
+            if (index == 0) {
+                cascade(1);
+            }
+            Timer<K> timer = slots[0][index];
+            slots[0][index] = null;
+            // Moved on first, so timers scheduled again from expiry land on a later tick
+            nextTick++;
+            while (timer != null) {
+                Timer<K> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timers.remove(timer.key);
+                expiry.expired(timer.key, timer.attachment);
+                expired++;
+                timer = next;
+            }
+        }
+        return expired;
+    }
+
+    // Empties the level's current slot into the levels below, after the level above
+    // has done the same when this level has turned over too
+    private void cascade(int level) {
+        int index = (int) ((nextTick >>> (bits * level)) & mask);
+        Timer<K> timer = slots[level][index];
+        slots[level][index] = null;
+        if (index == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        while (timer != null) {
+            Timer<K> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<K> timer) {
+        long tick = Math.max(timer.tick, nextTick);
+        long delta = tick - nextTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        if (delta >= 1L << (bits * LEVELS)) {
+            tick = nextTick + (1L << (bits * LEVELS)) - 1;
+        }
+        int slot = (int) ((tick >>> (bits * level)) & mask);
+
+        timer.level = level;
+        timer.slot = slot;
+        Timer<K> head = slots[level][slot];
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        slots[level][slot] = timer;
+    }
+
+    private void unlink(Timer<K> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+}
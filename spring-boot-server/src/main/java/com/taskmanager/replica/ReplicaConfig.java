@@ -0,0 +1,71 @@
+package com.taskmanager.replica;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(name = "db.replicas.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    // Publishes lag and routing metrics when the DataSource routes to replicas
+    @Bean
+    public MeterBinder replicaMetrics(DataSource dataSource) {
+        return registry -> {
+            ReplicaRoutingDataSource routing = unwrap(dataSource);
+            if (routing != null) {
+                routing.bindTo(registry);
+            }
+        };
+    }
+
+    // JpaTransactionManager replaces its dialect with the EntityManagerFactory's when it
+    // initializes, so the dialect is set on the factory instead of the transaction manager
+    @Bean
+    public static BeanPostProcessor replicaJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factory && factory.getDataSource() != null) {
+                    ReplicaRoutingDataSource routing = unwrap(factory.getDataSource());
+                    if (routing != null) {
+                        factory.setJpaDialect(new ReplicaJpaDialect(routing));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Without the dialect, replica reads would fill the shared caches with lagging rows
+    @Bean
+    public SmartInitializingSingleton replicaJpaDialectCheck(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        return () -> {
+            if (unwrap(dataSource) != null && !(transactionManager instanceof JpaTransactionManager jpaTransactionManager
+                    && jpaTransactionManager.getJpaDialect() instanceof ReplicaJpaDialect)) {
+                throw new IllegalStateException("Replica routing is enabled but the transaction manager does not use " +
+                        "ReplicaJpaDialect, so replica reads would populate the second-level cache.");
+            }
+        };
+    }
+
+    static ReplicaRoutingDataSource unwrap(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class);
+            }
+            return null;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find the replica routing DataSource", e);
+        }
+    }
+}
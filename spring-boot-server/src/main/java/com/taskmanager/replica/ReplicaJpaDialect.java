@@ -0,0 +1,50 @@
+package com.taskmanager.replica;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps transactions that may read from a replica from writing to the second-level
+ * and query caches. A lagging replica would otherwise put rows in the cache that
+ * are older than what the primary already has, and they would be served to every
+ * user until they expire. Cached entries are still read.
+ */
+public class ReplicaJpaDialect extends HibernateJpaDialect {
+
+    private final ReplicaRoutingDataSource routing;
+
+    public ReplicaJpaDialect(ReplicaRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || !routing.isRouted(definition.getName())) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaData) {
+            // With open-in-view the session outlives the transaction
+            replicaData.session.setCacheMode(replicaData.previousCacheMode);
+            transactionData = replicaData.transactionData;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+}
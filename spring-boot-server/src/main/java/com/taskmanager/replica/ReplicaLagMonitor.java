@@ -0,0 +1,60 @@
+package com.taskmanager.replica;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Measures replication lag every db.replicas.lag-check-interval. Between checks
+ * the last measurement is used, so reads can be up to max-lag plus one interval
+ * behind the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "db.replicas.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${db.replicas.lag-check-interval:2s}")
+    private Duration interval;
+
+    private ReplicaRoutingDataSource routing;
+    private ScheduledFuture<?> schedule;
+
+    @PostConstruct
+    public void start() {
+        routing = ReplicaConfig.unwrap(dataSource);
+        if (routing != null) {
+            routing.checkLag();
+            schedule = taskScheduler.scheduleWithFixedDelay(this::checkLag, interval);
+        }
+    }
+
+    public void checkLag() {
+        if (routing != null) {
+            routing.checkLag();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        if (routing != null) {
+            routing.close();
+        }
+    }
+}
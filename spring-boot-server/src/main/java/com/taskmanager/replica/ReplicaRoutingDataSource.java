@@ -0,0 +1,240 @@
+package com.taskmanager.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions of the routed services to a replica and everything
+ * else to the primary. A replica is skipped while its last measured lag exceeds
+ * db.replicas.max-lag or it cannot be reached. A user whose write committed less
+ * than db.replicas.stickiness ago reads from the primary, so they always see
+ * their own changes.
+ *
+ * The route is picked when a connection is first used, so this DataSource must sit
+ * behind a LazyConnectionDataSourceProxy; the transaction's read-only flag is not
+ * known yet when the transaction manager asks for the connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // Zero while the replica has replayed everything it received, a primary reports zero too
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final List<String> routedTransactions;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile MeterRegistry registry;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, List<String> routedTransactions,
+                                    Duration maxLag, Duration stickiness) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            this.replicas.add(new Replica(replica.getKey(), replica.getValue()));
+            targets.put(replica.getKey(), replica.getValue());
+        }
+        this.routedTransactions = routedTransactions;
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Whether a read-only transaction with this name may read from a replica.
+     */
+    public boolean isRouted(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String prefix : routedTransactions) {
+            if (transactionName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return route(PRIMARY, "write");
+        }
+        if (!isRouted(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return route(PRIMARY, "unrouted");
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return route(PRIMARY, "sticky");
+        }
+
+        // Round robin over the replicas that are caught up
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable(maxLag)) {
+                return route(replica.name, "replica");
+            }
+        }
+        return route(PRIMARY, "lagging");
+    }
+
+    /**
+     * Measures the replication lag of every replica. A replica that cannot be
+     * queried is unavailable until the next successful check.
+     */
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.update((long) (resultSet.getDouble(1) * 1000), true);
+            } catch (SQLException e) {
+                replica.update(replica.lagMillis, false);
+                log.debug("Lag check of {} failed", replica.name, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            TimeGauge.builder("taskmanager.db.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                    .description("Replication lag measured by the last check")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("taskmanager.db.replica.available", replica, r -> r.isAvailable(maxLag) ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * Closes the replica pools and the primary. Closing a Hikari pool twice is
+     * harmless, so the primary bean's own destroy callback may run as well.
+     */
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            close(replica.name, replica.dataSource);
+        }
+        close(PRIMARY, primary);
+    }
+
+    private void close(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close {}", name, e);
+            }
+        }
+    }
+
+    // Pins the user to the primary once their write transaction has committed
+    private void rememberWrite() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private String route(String target, String reason) {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            Counter.builder("taskmanager.db.routing")
+                    .description("Connections handed out per target and routing reason")
+                    .tag("target", target)
+                    .tag("reason", reason)
+                    .register(registry)
+                    .increment();
+        }
+        return target;
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis;
+        private volatile boolean reachable = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable(Duration maxLag) {
+            return reachable && lagMillis <= maxLag.toMillis();
+        }
+
+        void update(long lagMillis, boolean reachable) {
+            if (reachable != this.reachable) {
+                if (reachable) {
+                    log.info("Replica {} is reachable again", name);
+                } else {
+                    log.warn("Replica {} is unreachable, reading from the primary instead", name);
+                }
+            }
+            this.lagMillis = lagMillis;
+            this.reachable = reachable;
+        }
+    }
+}
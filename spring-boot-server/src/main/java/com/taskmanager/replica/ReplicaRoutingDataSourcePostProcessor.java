@@ -0,0 +1,120 @@
+package com.taskmanager.replica;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts a ReplicaRoutingDataSource in front of the primary DataSource when
+ * db.replicas.enabled is set and db.replicas.urls lists at least one replica. Runs
+ * first, so the concurrency limit and the monitoring wrapper apply to replica
+ * connections as well.
+ *
+ * The context destroys the DataSource bean it created, not the proxy that replaced
+ * it, so the routing DataSource and with it the replica pools are closed here when
+ * that bean is destroyed.
+ */
+@Component
+public class ReplicaRoutingDataSourcePostProcessor implements DestructionAwareBeanPostProcessor, EnvironmentAware, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSourcePostProcessor.class);
+
+    // Post-processors are created before @Value injection is available, so read the Environment directly
+    private Environment environment;
+
+    // Keyed by the DataSource bean each one routes for
+    private final Map<Object, ReplicaRoutingDataSource> routingDataSources = new IdentityHashMap<>();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof LazyConnectionDataSourceProxy
+                || !environment.getProperty("db.replicas.enabled", Boolean.class, false)) {
+            return bean;
+        }
+        List<String> urls = Arrays.stream(environment.getProperty("db.replicas.urls", String[].class, new String[0]))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        if (urls.isEmpty()) {
+            log.warn("db.replicas.enabled is set but db.replicas.urls is empty, all reads go to the primary");
+            return bean;
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaDataSource(name, urls.get(i)));
+        }
+
+        List<String> routedTransactions = Arrays.asList(environment.getProperty("db.replicas.routed-transactions",
+                String[].class, new String[]{"com.taskmanager.service.TaskService.", "com.taskmanager.service.ProjectService."}));
+        Duration maxLag = environment.getProperty("db.replicas.max-lag", Duration.class, Duration.ofSeconds(1));
+        Duration stickiness = environment.getProperty("db.replicas.stickiness", Duration.class, Duration.ofSeconds(5));
+
+        log.info("Routing read-only transactions of {} to {} replicas", routedTransactions, replicas.size());
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource((DataSource) bean, replicas, routedTransactions,
+                maxLag, stickiness);
+        synchronized (routingDataSources) {
+            routingDataSources.put(bean, routing);
+        }
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        synchronized (routingDataSources) {
+            return routingDataSources.containsKey(bean);
+        }
+    }
+
+    // Runs once the beans using the DataSource are gone, right before its own close()
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) {
+        ReplicaRoutingDataSource routing;
+        synchronized (routingDataSources) {
+            routing = routingDataSources.remove(bean);
+        }
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    private DataSource replicaDataSource(String name, String url) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty("db.replicas.username", environment.getProperty("spring.datasource.username")));
+        config.setPassword(environment.getProperty("db.replicas.password", environment.getProperty("spring.datasource.password")));
+        config.setMaximumPoolSize(environment.getProperty("db.replicas.pool-size", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+        config.setReadOnly(true);
+        // A replica that is down at startup is skipped by the lag check instead of failing the application
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -1,7 +1,11 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.cache.SecondLevelCacheConfig;
 import com.taskmanager.model.ProjectMember;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +14,11 @@ import java.util.UUID;
 @Repository
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, UUID> {
     
+    // Cached member ids per project, invalidated whenever project_members is written through Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.PROJECT_MEMBERS_BY_PROJECT)
+    })
     List<ProjectMember> findByProjectId(UUID projectId);
     
     List<ProjectMember> findByUserId(UUID userId);
@@ -0,0 +1,100 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.BasicTypeReference;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Column mapping of the Task attributes that projection queries can select. Tasks
+ * read this way are detached and only have the selected attributes set.
+ */
+final class TaskColumns {
+
+    private record Column(String name, BasicTypeReference<?> type, BiConsumer<Task, Object> setter) {
+    }
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", new Column("id", StandardBasicTypes.UUID, (t, v) -> t.setId((UUID) v)));
+        COLUMNS.put("title", new Column("title", StandardBasicTypes.STRING, (t, v) -> t.setTitle((String) v)));
+        COLUMNS.put("description", new Column("description", StandardBasicTypes.STRING, (t, v) -> t.setDescription((String) v)));
+        COLUMNS.put("status", new Column("status", StandardBasicTypes.STRING,
+                (t, v) -> t.setStatus(TaskStatus.valueOf((String) v))));
+        COLUMNS.put("priority", new Column("priority", StandardBasicTypes.STRING,
+                (t, v) -> t.setPriority(Priority.valueOf((String) v))));
+        COLUMNS.put("projectId", new Column("project_id", StandardBasicTypes.UUID, (t, v) -> t.setProjectId((UUID) v)));
+        COLUMNS.put("assigneeId", new Column("assignee_id", StandardBasicTypes.UUID, (t, v) -> t.setAssigneeId((UUID) v)));
+        COLUMNS.put("createdBy", new Column("created_by", StandardBasicTypes.UUID, (t, v) -> t.setCreatedBy((UUID) v)));
+        COLUMNS.put("rank", new Column("rank", StandardBasicTypes.STRING, (t, v) -> t.setRank((String) v)));
+        COLUMNS.put("startDate", new Column("start_date", StandardBasicTypes.LOCAL_DATE_TIME,
+                (t, v) -> t.setStartDate((LocalDateTime) v)));
+        COLUMNS.put("dueDate", new Column("due_date", StandardBasicTypes.LOCAL_DATE_TIME,
+                (t, v) -> t.setDueDate((LocalDateTime) v)));
+        COLUMNS.put("createdAt", new Column("created_at", StandardBasicTypes.LOCAL_DATE_TIME,
+                (t, v) -> t.setCreatedAt((LocalDateTime) v)));
+        COLUMNS.put("updatedAt", new Column("updated_at", StandardBasicTypes.LOCAL_DATE_TIME,
+                (t, v) -> t.setUpdatedAt((LocalDateTime) v)));
+        COLUMNS.put("version", new Column("version", StandardBasicTypes.INTEGER, (t, v) -> t.setVersion((Integer) v)));
+        COLUMNS.put("lastEditedBy", new Column("last_edited_by", StandardBasicTypes.UUID,
+                (t, v) -> t.setLastEditedBy((UUID) v)));
+        COLUMNS.put("tags", new Column("tags", StandardBasicTypes.STRING, (t, v) -> t.setTags((String) v)));
+        COLUMNS.put("customFields", new Column("custom_fields", StandardBasicTypes.STRING,
+                (t, v) -> t.setCustomFields((String) v)));
+    }
+
+    private TaskColumns() {
+    }
+
+    /**
+     * The selected columns in table order, always including the id.
+     */
+    static List<String> resolve(Set<String> attributes) {
+        for (String attribute : attributes) {
+            if (!COLUMNS.containsKey(attribute)) {
+                throw new IllegalArgumentException("Task attribute " + attribute + " cannot be selected.");
+            }
+        }
+        return COLUMNS.keySet().stream()
+                .filter(attribute -> attribute.equals("id") || attributes.contains(attribute))
+                .collect(Collectors.toList());
+    }
+
+    static String selectList(String alias, List<String> attributes) {
+        return attributes.stream()
+                .map(attribute -> alias + "." + quote(COLUMNS.get(attribute).name()))
+                .collect(Collectors.joining(", "));
+    }
+
+    static void addScalars(NativeQuery<?> query, List<String> attributes) {
+        for (String attribute : attributes) {
+            Column column = COLUMNS.get(attribute);
+            query.addScalar(column.name(), column.type());
+        }
+    }
+
+    // Reads the attributes from the start of a row, in the order they were added as scalars
+    static Task toTask(Object[] row, List<String> attributes) {
+        Task task = new Task();
+        for (int i = 0; i < attributes.size(); i++) {
+            Object value = row[i];
+            if (value != null) {
+                COLUMNS.get(attributes.get(i)).setter().accept(task, value);
+            }
+        }
+        return task;
+    }
+
+    // rank is a keyword in some dialects; the quoted lower-case name is the same column in PostgreSQL
+    private static String quote(String column) {
+        return column.equals("rank") ? "\"rank\"" : column;
+    }
+}
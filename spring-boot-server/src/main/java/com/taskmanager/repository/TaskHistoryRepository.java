@@ -1,6 +1,7 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.TaskHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,22 +16,35 @@ public interface TaskHistoryRepository extends JpaRepository<TaskHistory, UUID>
     
     List<TaskHistory> findByTaskIdOrderByChangedAtDesc(UUID taskId);
     
+    List<TaskHistory> findByTaskIdAndTaskVersionGreaterThan(UUID taskId, Integer taskVersion);
+    
     @Query("SELECT th FROM TaskHistory th WHERE th.taskId = :taskId AND " +
            "EXISTS (SELECT t FROM Task t WHERE t.id = th.taskId AND " +
-           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND " +
+           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND p.deletedAt IS NULL AND " +
            "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId))))")
     List<TaskHistory> findUserTaskHistory(@Param("taskId") UUID taskId, @Param("userId") UUID userId);
     
     @Query("SELECT th FROM TaskHistory th WHERE th.taskId = :taskId AND th.changedAt >= :startDate AND th.changedAt <= :endDate AND " +
            "EXISTS (SELECT t FROM Task t WHERE t.id = th.taskId AND " +
-           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND " +
+           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND p.deletedAt IS NULL AND " +
            "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId))))")
     List<TaskHistory> findUserTaskHistoryByDateRange(@Param("taskId") UUID taskId, @Param("startDate") LocalDateTime startDate, 
                                                      @Param("endDate") LocalDateTime endDate, @Param("userId") UUID userId);
     
     @Query("SELECT th FROM TaskHistory th WHERE th.taskId = :taskId AND th.fieldName = :fieldName AND " +
            "EXISTS (SELECT t FROM Task t WHERE t.id = th.taskId AND " +
-           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND " +
+           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND p.deletedAt IS NULL AND " +
            "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId))))")
     List<TaskHistory> findUserTaskHistoryByField(@Param("taskId") UUID taskId, @Param("fieldName") String fieldName, @Param("userId") UUID userId);
+    
+    // Project activity feed, newest first. Authors are fetched in the same query.
+    @Query("SELECT th FROM TaskHistory th LEFT JOIN FETCH th.changedByUser WHERE th.projectId = :projectId " +
+           "ORDER BY th.changedAt DESC, th.id DESC")
+    List<TaskHistory> findProjectActivity(@Param("projectId") UUID projectId, Pageable pageable);
+    
+    @Query("SELECT th FROM TaskHistory th LEFT JOIN FETCH th.changedByUser WHERE th.projectId = :projectId AND " +
+           "(th.changedAt < :changedAt OR (th.changedAt = :changedAt AND th.id < :id)) " +
+           "ORDER BY th.changedAt DESC, th.id DESC")
+    List<TaskHistory> findProjectActivityBefore(@Param("projectId") UUID projectId, @Param("changedAt") LocalDateTime changedAt,
+                                                @Param("id") UUID id, Pageable pageable);
 }
\ No newline at end of file
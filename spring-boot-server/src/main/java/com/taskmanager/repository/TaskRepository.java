@@ -1,6 +1,7 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,17 +11,24 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
     
     List<Task> findByProjectIdOrderByCreatedAtDesc(UUID projectId);
     
+    java.util.Optional<Task> findFirstByProjectIdAndStatusOrderByRankDesc(UUID projectId, TaskStatus status);
+
+    // Reads the rank from the database rather than from a task loaded earlier in the transaction
+    @Query("SELECT t.rank FROM Task t WHERE t.id = :taskId")
+    String findRankById(@Param("taskId") UUID taskId);
+    
     @Query("SELECT t FROM Task t WHERE t.id = :taskId AND " +
-           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND " +
+           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND p.deletedAt IS NULL AND " +
            "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId)))")
     java.util.Optional<Task> findUserTaskById(@Param("taskId") UUID taskId, @Param("userId") UUID userId);
     
     @Query("SELECT t FROM Task t WHERE t.projectId = :projectId AND " +
-           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND " +
-           "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId)))")
+           "EXISTS (SELECT p FROM Project p WHERE p.id = t.projectId AND p.deletedAt IS NULL AND " +
+           "(p.ownerId = :userId OR EXISTS (SELECT pm FROM ProjectMember pm WHERE pm.projectId = p.id AND pm.userId = :userId))) " +
+           "ORDER BY t.status, t.rank, t.id")
     List<Task> findProjectTasksByUser(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
 }
\ No newline at end of file
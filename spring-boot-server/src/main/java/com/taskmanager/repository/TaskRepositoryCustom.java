@@ -0,0 +1,61 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Loads the first cards of each board column together with the column's total
+     * card count in one statement. Each row is {Task, Long totalCount}, ordered by
+     * status and rank. When status is given only that column is read, continuing
+     * after (afterRank, afterId) if those are set.
+     */
+    List<Object[]> findBoardColumns(UUID projectId, TaskStatus status, String afterRank, UUID afterId, int limitPerColumn);
+
+    /**
+     * Same as findBoardColumns, but only reads the given Task attributes, plus the id.
+     * The tasks in the rows are detached and must include status and rank for the
+     * caller to group them and build cursors.
+     */
+    List<Object[]> findBoardColumns(UUID projectId, TaskStatus status, String afterRank, UUID afterId, int limitPerColumn,
+                                    Set<String> attributes);
+
+    /**
+     * Reads only the given Task attributes, plus the id, of a project's tasks the user
+     * can access, ordered like findProjectTasksByUser. The tasks are detached.
+     */
+    List<Task> findProjectTasksByUser(UUID projectId, UUID userId, Set<String> attributes);
+
+    /**
+     * Reads only the given Task attributes, plus the id, of a project's tasks, newest
+     * first. The tasks are detached.
+     */
+    List<Task> findByProjectIdOrderByCreatedAtDesc(UUID projectId, Set<String> attributes);
+
+    /**
+     * Loads a page of the tasks assigned to the user in projects they can access,
+     * ordered by due date, then priority from HIGH to LOW, then id. Tasks with and
+     * without a due date are read by separate calls, so every page is a range of the
+     * (assignee_id, due_date) index: dated reads the tasks with a due date after
+     * (afterDueDate, afterPriority, afterId), otherwise the tasks without one after
+     * (afterPriority, afterId), from the start when afterId is null. Without a status
+     * DONE tasks are left out.
+     */
+    List<Task> findAssignedTasks(UUID userId, TaskStatus status, boolean dated, LocalDateTime afterDueDate,
+                                 Priority afterPriority, UUID afterId, int limit);
+
+    /**
+     * Same as findAssignedTasks, but only reads the given Task attributes, plus the id.
+     * The tasks are detached and must include dueDate and priority for the caller to
+     * build cursors.
+     */
+    List<Task> findAssignedTasks(UUID userId, TaskStatus status, boolean dated, LocalDateTime afterDueDate,
+                                 Priority afterPriority, UUID afterId, int limit, Set<String> attributes);
+}
@@ -0,0 +1,210 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // Sort key of the priority, HIGH first
+    private static final String PRIORITY_ORDER = priorityOrder();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findBoardColumns(UUID projectId, TaskStatus status, String afterRank, UUID afterId, int limitPerColumn) {
+        // Counts come from an index-only scan of (project_id, status, rank) and the cards
+        // from a LATERAL top-N per column on the same index, so DONE columns with tens of
+        // thousands of cards are never read in full.
+        String statusFilter = status != null ? " AND status = :status" : "";
+        String cursorFilter = afterRank != null ? " AND (t.rank, t.id) > (:afterRank, :afterId)" : "";
+
+        String sql = "SELECT {t.*}, c.total FROM (" +
+                "SELECT status, COUNT(*) AS total FROM tasks WHERE project_id = :projectId" + statusFilter +
+                " GROUP BY status) c " +
+                "CROSS JOIN LATERAL (" +
+                "SELECT * FROM tasks t WHERE t.project_id = :projectId AND t.status = c.status" + cursorFilter +
+                " ORDER BY t.rank, t.id LIMIT :limit) t " +
+                "ORDER BY t.status, t.rank, t.id";
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addEntity("t", Task.class);
+        query.addScalar("total", StandardBasicTypes.LONG);
+        query.setParameter("projectId", projectId);
+        query.setParameter("limit", limitPerColumn);
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        if (afterRank != null) {
+            query.setParameter("afterRank", afterRank);
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findBoardColumns(UUID projectId, TaskStatus status, String afterRank, UUID afterId, int limitPerColumn,
+                                           Set<String> attributes) {
+        List<String> columns = TaskColumns.resolve(attributes);
+        String statusFilter = status != null ? " AND status = :status" : "";
+        String cursorFilter = afterRank != null ? " AND (t.\"rank\", t.id) > (:afterRank, :afterId)" : "";
+
+        String sql = "SELECT " + TaskColumns.selectList("t", columns) + ", c.total FROM (" +
+                "SELECT status, COUNT(*) AS total FROM tasks WHERE project_id = :projectId" + statusFilter +
+                " GROUP BY status) c " +
+                "CROSS JOIN LATERAL (" +
+                "SELECT " + TaskColumns.selectList("t", columns) + " FROM tasks t " +
+                "WHERE t.project_id = :projectId AND t.status = c.status" + cursorFilter +
+                " ORDER BY t.\"rank\", t.id LIMIT :limit) t " +
+                "ORDER BY t.status, t.\"rank\", t.id";
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        TaskColumns.addScalars(query, columns);
+        query.addScalar("total", StandardBasicTypes.LONG);
+        query.setParameter("projectId", projectId);
+        query.setParameter("limit", limitPerColumn);
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        if (afterRank != null) {
+            query.setParameter("afterRank", afterRank);
+            query.setParameter("afterId", afterId);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            rows.add(new Object[]{TaskColumns.toTask(row, columns), row[columns.size()]});
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Task> findProjectTasksByUser(UUID projectId, UUID userId, Set<String> attributes) {
+        List<String> columns = TaskColumns.resolve(attributes);
+        String sql = "SELECT " + TaskColumns.selectList("t", columns) + " FROM tasks t " +
+                "WHERE t.project_id = :projectId AND EXISTS (SELECT 1 FROM projects p WHERE p.id = t.project_id AND p.deleted_at IS NULL AND " +
+                "(p.owner_id = :userId OR EXISTS (SELECT 1 FROM project_members pm " +
+                "WHERE pm.project_id = p.id AND pm.user_id = :userId))) " +
+                "ORDER BY t.status, t.\"rank\", t.id";
+        return projectTasks(sql, columns, projectId, userId);
+    }
+
+    @Override
+    public List<Task> findByProjectIdOrderByCreatedAtDesc(UUID projectId, Set<String> attributes) {
+        List<String> columns = TaskColumns.resolve(attributes);
+        String sql = "SELECT " + TaskColumns.selectList("t", columns) + " FROM tasks t " +
+                "WHERE t.project_id = :projectId ORDER BY t.created_at DESC";
+        return projectTasks(sql, columns, projectId, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findAssignedTasks(UUID userId, TaskStatus status, boolean dated, LocalDateTime afterDueDate,
+                                        Priority afterPriority, UUID afterId, int limit) {
+        String sql = "SELECT t.* FROM tasks t " + assignedTasksQuery(status, dated, afterId != null);
+        NativeQuery<Task> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addEntity("t", Task.class);
+        bindAssignedTasks(query, userId, status, dated, afterDueDate, afterPriority, afterId, limit);
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findAssignedTasks(UUID userId, TaskStatus status, boolean dated, LocalDateTime afterDueDate,
+                                        Priority afterPriority, UUID afterId, int limit, Set<String> attributes) {
+        List<String> columns = TaskColumns.resolve(attributes);
+        String sql = "SELECT " + TaskColumns.selectList("t", columns) + " FROM tasks t " +
+                assignedTasksQuery(status, dated, afterId != null);
+        NativeQuery<Object> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        TaskColumns.addScalars(query, columns);
+        bindAssignedTasks(query, userId, status, dated, afterDueDate, afterPriority, afterId, limit);
+
+        List<Task> tasks = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] values = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+            tasks.add(TaskColumns.toTask(values, columns));
+        }
+        return tasks;
+    }
+
+    // The leading due_date >= keeps a continued page a range scan of (assignee_id, due_date);
+    // the row comparison after it only orders ties within the same due date
+    private String assignedTasksQuery(TaskStatus status, boolean dated, boolean continued) {
+        String statusFilter = status != null ? " AND t.status = :status" : " AND t.status <> 'DONE'";
+        String cursorFilter;
+        String order;
+        if (dated) {
+            cursorFilter = " AND t.due_date IS NOT NULL" + (continued ? " AND t.due_date >= :afterDueDate AND " +
+                    "(t.due_date, " + PRIORITY_ORDER + ", t.id) > (:afterDueDate, :afterPriority, :afterId)" : "");
+            order = "t.due_date, " + PRIORITY_ORDER + ", t.id";
+        } else {
+            cursorFilter = " AND t.due_date IS NULL" + (continued ?
+                    " AND (" + PRIORITY_ORDER + ", t.id) > (:afterPriority, :afterId)" : "");
+            order = PRIORITY_ORDER + ", t.id";
+        }
+        return "WHERE t.assignee_id = :userId" + statusFilter + cursorFilter +
+                " AND EXISTS (SELECT 1 FROM projects p WHERE p.id = t.project_id AND p.deleted_at IS NULL AND " +
+                "(p.owner_id = :userId OR EXISTS (SELECT 1 FROM project_members pm " +
+                "WHERE pm.project_id = p.id AND pm.user_id = :userId))) " +
+                "ORDER BY " + order + " LIMIT :limit";
+    }
+
+    private void bindAssignedTasks(NativeQuery<?> query, UUID userId, TaskStatus status, boolean dated,
+                                   LocalDateTime afterDueDate, Priority afterPriority, UUID afterId, int limit) {
+        query.setParameter("userId", userId);
+        query.setParameter("limit", limit);
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        if (afterId != null) {
+            if (dated) {
+                query.setParameter("afterDueDate", afterDueDate);
+            }
+            query.setParameter("afterPriority", priorityOrder(afterPriority));
+            query.setParameter("afterId", afterId);
+        }
+    }
+
+    private static String priorityOrder() {
+        StringBuilder order = new StringBuilder("CASE t.priority");
+        for (Priority priority : Priority.values()) {
+            order.append(" WHEN '").append(priority.name()).append("' THEN ").append(priorityOrder(priority));
+        }
+        return order.append(" END").toString();
+    }
+
+    private static int priorityOrder(Priority priority) {
+        return Priority.values().length - 1 - priority.ordinal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Task> projectTasks(String sql, List<String> columns, UUID projectId, UUID userId) {
+        NativeQuery<Object> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        TaskColumns.addScalars(query, columns);
+        query.setParameter("projectId", projectId);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            // A single scalar comes back on its own rather than in an array
+            Object[] values = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+            tasks.add(TaskColumns.toTask(values, columns));
+        }
+        return tasks;
+    }
+}
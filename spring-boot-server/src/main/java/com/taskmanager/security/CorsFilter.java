@@ -29,8 +29,8 @@ public class CorsFilter extends OncePerRequestFilter {
             response.setHeader("Access-Control-Allow-Origin", origin);
             response.setHeader("Access-Control-Allow-Credentials", "true");
             response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS, PATCH");
-            response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type, Accept, Origin, X-Requested-With, Access-Control-Request-Method, Access-Control-Request-Headers");
-            response.setHeader("Access-Control-Expose-Headers", "Authorization, Content-Type");
+            response.setHeader("Access-Control-Allow-Headers", "Authorization, Content-Type, Accept, If-Match, Origin, X-Requested-With, Access-Control-Request-Method, Access-Control-Request-Headers");
+            response.setHeader("Access-Control-Expose-Headers", "Authorization, Content-Type, ETag, X-SQL-Statement-Count, X-SQL-Time-Ms");
             response.setHeader("Access-Control-Max-Age", "3600");
         }
         
@@ -7,6 +7,7 @@ import com.taskmanager.dto.UserDTO;
 import com.taskmanager.model.User;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.util.UUID;
 
 @Service
+@Timed("taskmanager.service")
 public class AuthenticationService {
 
     @Autowired
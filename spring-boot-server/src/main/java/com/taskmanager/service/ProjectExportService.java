@@ -0,0 +1,171 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.taskmanager.repository.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a project's tasks or task history as CSV or NDJSON. Rows are read through a
+ * server-side cursor and written to the response as they arrive, so memory use does
+ * not depend on the size of the project.
+ */
+@Service
+@Timed("taskmanager.service")
+public class ProjectExportService {
+
+    public enum Dataset {
+        TASKS,
+        HISTORY
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    // Rows fetched per cursor round trip
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String TASKS_SQL =
+            "SELECT id, title, description, status, priority, assignee_id AS \"assigneeId\", " +
+            "created_by AS \"createdBy\", rank, start_date AS \"startDate\", due_date AS \"dueDate\", " +
+            "created_at AS \"createdAt\", updated_at AS \"updatedAt\", version, " +
+            "last_edited_by AS \"lastEditedBy\", tags, custom_fields AS \"customFields\" " +
+            "FROM tasks WHERE project_id = ? ORDER BY status, rank, id";
+
+    private static final String HISTORY_SQL =
+            "SELECT id, task_id AS \"taskId\", field_name AS \"fieldName\", old_value AS \"oldValue\", " +
+            "new_value AS \"newValue\", changed_by AS \"changedBy\", change_type AS \"changeType\", " +
+            "changed_at AS \"changedAt\", description, task_version AS \"taskVersion\" " +
+            "FROM task_history WHERE project_id = ? ORDER BY changed_at, id";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Checks access up front and returns the body that streams the export.
+     */
+    public StreamingResponseBody exportProject(UUID projectId, Dataset dataset, Format format, boolean gzip, UUID userId) {
+        if (!projectRepository.findUserProjectById(projectId, userId).isPresent()) {
+            throw new RuntimeException("Project not found or access denied.");
+        }
+        return out -> writeExport(projectId, dataset, format, gzip, out);
+    }
+
+    private void writeExport(UUID projectId, Dataset dataset, Format format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+
+        // PostgreSQL only uses a cursor for fetchSize when autocommit is off, hence the transaction
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    dataset == Dataset.TASKS ? TASKS_SQL : HISTORY_SQL,
+                    (ResultSet rs) -> {
+                        writeRows(rs, format, target);
+                        return null;
+                    },
+                    projectId));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (target instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) target).finish();
+        }
+        target.flush();
+    }
+
+    private void writeRows(ResultSet rs, Format format, OutputStream out) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        try {
+            long rows = 0;
+            try (SequenceWriter writer = openWriter(columns, format, out)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                while (rs.next()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        row.put(columns[i], value(rs.getObject(i + 1)));
+                    }
+                    writer.write(row);
+                    rows++;
+                }
+            }
+            // The separator only goes between records, NDJSON also ends with a newline
+            if (format == Format.NDJSON && rows > 0) {
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SequenceWriter openWriter(String[] columns, Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            for (String column : columns) {
+                schema.addColumn(column);
+            }
+            return CSV_MAPPER.writer(schema.build())
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(out);
+        }
+        return objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out);
+    }
+
+    private static Object value(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof UUID) {
+            return value.toString();
+        }
+        return value;
+    }
+}
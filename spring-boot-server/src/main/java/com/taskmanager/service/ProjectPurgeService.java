@@ -0,0 +1,146 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Project;
+import com.taskmanager.model.ProjectMember;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Removes deleted projects in the background. Deleting a project only sets its
+ * deleted_at; the history, tasks and members are then deleted here in batches of
+ * project.purge.batch-size rows, each batch its own short transaction, and the
+ * project row last. Purges interrupted by a restart or a failure are picked up
+ * again by the periodic sweep.
+ */
+@Service
+public class ProjectPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurgeService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${project.purge.batch-size:5000}")
+    private int batchSize;
+
+    // Projects queued or being purged, so the sweep does not queue them a second time
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        // One purge at a time; a separate thread keeps long purges off the shared scheduler
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("project-purge-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues the purge of a project once the current transaction has committed,
+     * so the purge never runs ahead of the deletion mark.
+     */
+    public void purgeAfterCommit(UUID projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(projectId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(projectId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${project.purge.cron:0 */10 * * * *}")
+    public void purgeDeletedProjects() {
+        List<UUID> projectIds = jdbcTemplate.queryForList(
+                "SELECT id FROM projects WHERE deleted_at IS NOT NULL ORDER BY deleted_at", UUID.class);
+        projectIds.forEach(this::submit);
+    }
+
+    private void submit(UUID projectId) {
+        if (!pending.add(projectId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                purge(projectId);
+            } catch (RuntimeException e) {
+                log.warn("Purge of deleted project {} failed, the next sweep retries it", projectId, e);
+            } finally {
+                pending.remove(projectId);
+            }
+        });
+    }
+
+    private void purge(UUID projectId) {
+        Integer marked = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM projects WHERE id = ? AND deleted_at IS NOT NULL", Integer.class, projectId);
+        if (marked == null || marked == 0) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        // task_history is partitioned, so rows are picked by the full primary key rather than ctid
+        int history = deleteInBatches("DELETE FROM task_history WHERE (id, changed_at) IN " +
+                "(SELECT id, changed_at FROM task_history WHERE project_id = ? LIMIT ?)", projectId);
+        int tasks = deleteInBatches("DELETE FROM tasks WHERE id IN " +
+                "(SELECT id FROM tasks WHERE project_id = ? LIMIT ?)", projectId);
+
+        List<UUID> memberIds = jdbcTemplate.queryForList(
+                "SELECT id FROM project_members WHERE project_id = ?", UUID.class, projectId);
+        jdbcTemplate.update("DELETE FROM project_members WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+
+        // The rows went away behind Hibernate's back, drop their cached copies
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Project.class, projectId);
+        memberIds.forEach(memberId -> cache.evict(ProjectMember.class, memberId));
+
+        log.info("Purged deleted project {}: {} tasks, {} history entries, {} members in {} ms", projectId,
+                tasks, history, memberIds.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private int deleteInBatches(String sql, UUID projectId) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, projectId, batchSize);
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+}
@@ -1,22 +1,33 @@
 package com.taskmanager.service;
 
-import com.taskmanager.dto.ProjectDTO;
-import com.taskmanager.dto.ProjectMemberDTO;
-import com.taskmanager.dto.TaskDTO;
-import com.taskmanager.dto.UserDTO;
+import com.taskmanager.concurrency.FanOut;
+import com.taskmanager.concurrency.FanOutExecutor;
+import com.taskmanager.dto.*;
 import com.taskmanager.model.*;
 import com.taskmanager.repository.ProjectMemberRepository;
 import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskHistoryRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("taskmanager.service")
 public class ProjectService {
 
     @Autowired
@@ -31,103 +42,54 @@ public class ProjectService {
     @Autowired
     private ProjectMemberRepository projectMemberRepository;
 
-    public List<ProjectDTO> getUserProjects(UUID userId) {
-        List<Project> projects = projectRepository.findUserProjects(userId);
-
-        return projects.stream().map(project -> {
-            ProjectDTO projectDTO = new ProjectDTO();
-            projectDTO.setId(project.getId());
-            projectDTO.setName(project.getName());
-            projectDTO.setDescription(project.getDescription());
-            projectDTO.setOwnerId(project.getOwnerId());
-            projectDTO.setCreatedAt(project.getCreatedAt());
-            projectDTO.setUpdatedAt(project.getUpdatedAt());
-
-            // Set owner
-            User owner = userRepository.findById(project.getOwnerId()).orElse(null);
-            if (owner != null) {
-                UserDTO ownerDTO = new UserDTO(
-                        owner.getId(),
-                        owner.getEmail(),
-                        owner.getName(),
-                        owner.getAvatar()
-                );
-                projectDTO.setOwner(ownerDTO);
-            }
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
 
-            // Set members with their avatars
-            List<ProjectMember> members = projectMemberRepository.findByProjectId(project.getId());
-            List<ProjectMemberDTO> memberDTOs = members.stream().map(member -> {
-                ProjectMemberDTO memberDTO = new ProjectMemberDTO();
-                memberDTO.setId(member.getId());
-                memberDTO.setProjectId(member.getProjectId());
-                memberDTO.setUserId(member.getUserId());
-                memberDTO.setRole(member.getRole());
-                memberDTO.setJoinedAt(member.getJoinedAt());
-
-                User user = userRepository.findById(member.getUserId()).orElse(null);
-                if (user != null) {
-                    UserDTO userDTO = new UserDTO(
-                            user.getId(),
-                            user.getEmail(),
-                            user.getName(),
-                            user.getAvatar()
-                    );
-                    memberDTO.setUser(userDTO);
-                }
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
 
-                return memberDTO;
-            }).collect(Collectors.toList());
-            projectDTO.setMembers(memberDTOs);
-
-            // Set tasks
-            List<Task> tasks = taskRepository.findByProjectIdOrderByCreatedAtDesc(project.getId());
-            List<TaskDTO> taskDTOs = tasks.stream().map(task -> {
-                TaskDTO taskDTO = new TaskDTO();
-                taskDTO.setId(task.getId());
-                taskDTO.setTitle(task.getTitle());
-                taskDTO.setDescription(task.getDescription());
-                taskDTO.setStatus(task.getStatus());
-                taskDTO.setPriority(task.getPriority());
-                taskDTO.setProjectId(task.getProjectId());
-                taskDTO.setAssigneeId(task.getAssigneeId());
-                taskDTO.setCreatedBy(task.getCreatedBy());
-                taskDTO.setDueDate(task.getDueDate());
-                taskDTO.setCreatedAt(task.getCreatedAt());
-                taskDTO.setUpdatedAt(task.getUpdatedAt());
-
-                // Set assignee
-                if (task.getAssigneeId() != null) {
-                    User assignee = userRepository.findById(task.getAssigneeId()).orElse(null);
-                    if (assignee != null) {
-                        UserDTO assigneeDTO = new UserDTO(
-                                assignee.getId(),
-                                assignee.getEmail(),
-                                assignee.getName(),
-                                assignee.getAvatar()
-                        );
-                        taskDTO.setAssignee(assigneeDTO);
-                    }
-                }
+    @Autowired
+    private ProjectPurgeService projectPurgeService;
 
-                // Set creator
-                User creator = userRepository.findById(task.getCreatedBy()).orElse(null);
-                if (creator != null) {
-                    UserDTO creatorDTO = new UserDTO(
-                            creator.getId(),
-                            creator.getEmail(),
-                            creator.getName(),
-                            creator.getAvatar()
-                    );
-                    taskDTO.setCreator(creatorDTO);
-                }
+    private static final int DEFAULT_ACTIVITY_PAGE_SIZE = 50;
+    private static final int MAX_ACTIVITY_PAGE_SIZE = 200;
 
-                return taskDTO;
-            }).collect(Collectors.toList());
-            projectDTO.setTasks(taskDTOs);
+    public List<ProjectDTO> getUserProjects(UUID userId) {
+        return getUserProjects(userId, FieldSelection.ALL);
+    }
 
-            return projectDTO;
-        }).collect(Collectors.toList());
+    /**
+     * Returns the user's projects, loading only the selected owner, members and tasks.
+     * Not transactional: every load runs in a read-only transaction of its own, so
+     * this thread holds no connection while it waits for the fan-out.
+     */
+    public List<ProjectDTO> getUserProjects(UUID userId, FieldSelection fields) {
+        try (FanOut fanOut = fanOutExecutor.open(ProjectService.class.getName() + ".getUserProjects")) {
+            List<ProjectDTO> projectDTOs = fanOut.call(() -> projectRepository.findUserProjects(userId).stream()
+                    .map(this::toProjectDTO)
+                    .collect(Collectors.toList()));
+            if (!needsLoads(fields)) {
+                return projectDTOs;
+            }
+
+            // Projects are assembled concurrently and returned in the repository's order
+            List<Future<ProjectDTO>> loads = new ArrayList<>();
+            for (ProjectDTO projectDTO : projectDTOs) {
+                loads.add(fanOut.submit(() -> {
+                    if (fields.includes("owner")) {
+                        projectDTO.setOwner(loadOwner(projectDTO.getOwnerId()));
+                    }
+                    if (fields.includes("members")) {
+                        projectDTO.setMembers(loadMembers(projectDTO.getId(), fields.child("members")));
+                    }
+                    if (fields.includes("tasks")) {
+                        projectDTO.setTasks(loadTasks(projectDTO.getId(), fields.child("tasks")));
+                    }
+                    return projectDTO;
+                }));
+            }
+            return fanOut.joinAll(loads);
+        }
     }
 
     public ProjectDTO createProject(String name, String description, UUID ownerId) {
@@ -162,19 +124,60 @@ public class ProjectService {
     }
 
     public ProjectDTO getProjectById(UUID projectId, UUID userId) {
-        Project project = projectRepository.findUserProjectById(projectId, userId)
+        return getProjectById(projectId, userId, FieldSelection.ALL);
+    }
+
+    /**
+     * Returns the project, loading only the selected owner, members and tasks.
+     * Not transactional, for the same reason as getUserProjects.
+     */
+    public ProjectDTO getProjectById(UUID projectId, UUID userId, FieldSelection fields) {
+        try (FanOut fanOut = fanOutExecutor.open(ProjectService.class.getName() + ".getProjectById")) {
+            Project project = fanOut.call(() -> projectRepository.findUserProjectById(projectId, userId))
+                    .orElseThrow(() -> new RuntimeException("Project not found or access denied."));
+
+            ProjectDTO projectDTO = toProjectDTO(project);
+            if (!needsLoads(fields)) {
+                return projectDTO;
+            }
+
+            // Owner and members load on the fan-out pool while this thread loads the tasks
+            Future<UserDTO> owner = fields.includes("owner") ?
+                    fanOut.submit(() -> loadOwner(project.getOwnerId())) : null;
+            Future<List<ProjectMemberDTO>> members = fields.includes("members") ?
+                    fanOut.submit(() -> loadMembers(project.getId(), fields.child("members"))) : null;
+
+            if (fields.includes("tasks")) {
+                projectDTO.setTasks(fanOut.call(() -> loadTasks(project.getId(), fields.child("tasks"))));
+            }
+            if (owner != null) {
+                projectDTO.setOwner(fanOut.join(owner));
+            }
+            if (members != null) {
+                projectDTO.setMembers(fanOut.join(members));
+            }
+            return projectDTO;
+        }
+    }
+
+    public ProjectDTO updateProject(UUID projectId, String name, String description, UUID userId) {
+        Project project = projectRepository.findOwnerProjectById(projectId, userId)
                 .orElseThrow(() -> new RuntimeException("Project not found or access denied."));
 
+        project.setName(name);
+        project.setDescription(description);
+        Project updatedProject = projectRepository.save(project);
+
         ProjectDTO projectDTO = new ProjectDTO();
-        projectDTO.setId(project.getId());
-        projectDTO.setName(project.getName());
-        projectDTO.setDescription(project.getDescription());
-        projectDTO.setOwnerId(project.getOwnerId());
-        projectDTO.setCreatedAt(project.getCreatedAt());
-        projectDTO.setUpdatedAt(project.getUpdatedAt());
+        projectDTO.setId(updatedProject.getId());
+        projectDTO.setName(updatedProject.getName());
+        projectDTO.setDescription(updatedProject.getDescription());
+        projectDTO.setOwnerId(updatedProject.getOwnerId());
+        projectDTO.setCreatedAt(updatedProject.getCreatedAt());
+        projectDTO.setUpdatedAt(updatedProject.getUpdatedAt());
 
         // Set owner
-        User owner = userRepository.findById(project.getOwnerId()).orElse(null);
+        User owner = userRepository.findById(updatedProject.getOwnerId()).orElse(null);
         if (owner != null) {
             UserDTO ownerDTO = new UserDTO(
                     owner.getId(),
@@ -185,9 +188,117 @@ public class ProjectService {
             projectDTO.setOwner(ownerDTO);
         }
 
-        // Set members
-        List<ProjectMember> members = projectMemberRepository.findByProjectId(project.getId());
-        List<ProjectMemberDTO> memberDTOs = members.stream().map(member -> {
+        return projectDTO;
+    }
+
+    /**
+     * Marks the project deleted, which hides it and its tasks right away. Tasks,
+     * members and history are removed afterwards by ProjectPurgeService.
+     */
+    @Transactional
+    public void deleteProject(UUID projectId, UUID userId) {
+        Project project = projectRepository.findOwnerProjectById(projectId, userId)
+                .orElseThrow(() -> new RuntimeException("Project not found or access denied."));
+
+        project.setDeletedAt(LocalDateTime.now());
+        projectRepository.save(project);
+        projectPurgeService.purgeAfterCommit(projectId);
+    }
+
+    @Transactional(readOnly = true)
+    public ActivityFeedDTO getProjectActivity(UUID projectId, String cursor, Integer limit, UUID userId) {
+        if (!projectRepository.findUserProjectById(projectId, userId).isPresent()) {
+            throw new RuntimeException("Project not found or access denied.");
+        }
+
+        int pageSize = limit != null ? Math.min(Math.max(limit, 1), MAX_ACTIVITY_PAGE_SIZE) : DEFAULT_ACTIVITY_PAGE_SIZE;
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<TaskHistory> history;
+        if (cursor == null || cursor.isEmpty()) {
+            history = taskHistoryRepository.findProjectActivity(projectId, pageable);
+        } else {
+            String[] position = decodeActivityCursor(cursor);
+            LocalDateTime beforeChangedAt;
+            UUID beforeId;
+            try {
+                beforeChangedAt = LocalDateTime.parse(position[0]);
+                beforeId = UUID.fromString(position[1]);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid activity cursor.");
+            }
+            history = taskHistoryRepository.findProjectActivityBefore(projectId, beforeChangedAt, beforeId, pageable);
+        }
+
+        String nextCursor = null;
+        if (history.size() > pageSize) {
+            history = history.subList(0, pageSize);
+            TaskHistory last = history.get(pageSize - 1);
+            nextCursor = encodeActivityCursor(last.getChangedAt(), last.getId());
+        }
+
+        List<TaskHistoryDTO> entries = history.stream().map(entry -> {
+            TaskHistoryDTO dto = new TaskHistoryDTO();
+            dto.setId(entry.getId());
+            dto.setTaskId(entry.getTaskId());
+            dto.setProjectId(entry.getProjectId());
+            dto.setFieldName(entry.getFieldName());
+            dto.setOldValue(entry.getOldValue());
+            dto.setNewValue(entry.getNewValue());
+            dto.setChangedBy(entry.getChangedBy());
+            dto.setChangeType(entry.getChangeType());
+            dto.setChangedAt(entry.getChangedAt());
+            dto.setDescription(entry.getDescription());
+
+            // Authors were fetched together with the page
+            User author = entry.getChangedByUser();
+            if (author != null) {
+                dto.setChangedByUser(new UserDTO(
+                        author.getId(),
+                        author.getEmail(),
+                        author.getName(),
+                        author.getAvatar()
+                ));
+            }
+
+            return dto;
+        }).collect(Collectors.toList());
+
+        return new ActivityFeedDTO(entries, nextCursor);
+    }
+
+    private ProjectDTO toProjectDTO(Project project) {
+        ProjectDTO projectDTO = new ProjectDTO();
+        projectDTO.setId(project.getId());
+        projectDTO.setName(project.getName());
+        projectDTO.setDescription(project.getDescription());
+        projectDTO.setOwnerId(project.getOwnerId());
+        projectDTO.setCreatedAt(project.getCreatedAt());
+        projectDTO.setUpdatedAt(project.getUpdatedAt());
+        return projectDTO;
+    }
+
+    private boolean needsLoads(FieldSelection fields) {
+        return fields.includes("owner") || fields.includes("members") || fields.includes("tasks");
+    }
+
+    private UserDTO loadOwner(UUID ownerId) {
+        User owner = userRepository.findById(ownerId).orElse(null);
+        if (owner == null) {
+            return null;
+        }
+        return new UserDTO(
+                owner.getId(),
+                owner.getEmail(),
+                owner.getName(),
+                owner.getAvatar()
+        );
+    }
+
+    private List<ProjectMemberDTO> loadMembers(UUID projectId, FieldSelection fields) {
+        List<ProjectMember> members = projectMemberRepository.findByProjectId(projectId);
+        return members.stream().map(member -> {
             ProjectMemberDTO memberDTO = new ProjectMemberDTO();
             memberDTO.setId(member.getId());
             memberDTO.setProjectId(member.getProjectId());
@@ -195,7 +306,7 @@ public class ProjectService {
             memberDTO.setRole(member.getRole());
             memberDTO.setJoinedAt(member.getJoinedAt());
 
-            User user = userRepository.findById(member.getUserId()).orElse(null);
+            User user = fields.includes("user") ? userRepository.findById(member.getUserId()).orElse(null) : null;
             if (user != null) {
                 UserDTO userDTO = new UserDTO(
                         user.getId(),
@@ -208,11 +319,13 @@ public class ProjectService {
 
             return memberDTO;
         }).collect(Collectors.toList());
-        projectDTO.setMembers(memberDTOs);
+    }
 
-        // Set tasks
-        List<Task> tasks = taskRepository.findByProjectIdOrderByCreatedAtDesc(project.getId());
-        List<TaskDTO> taskDTOs = tasks.stream().map(task -> {
+    private List<TaskDTO> loadTasks(UUID projectId, FieldSelection fields) {
+        List<Task> tasks = fields.isAll() ?
+                taskRepository.findByProjectIdOrderByCreatedAtDesc(projectId) :
+                taskRepository.findByProjectIdOrderByCreatedAtDesc(projectId, TaskService.taskAttributes(fields));
+        return tasks.stream().map(task -> {
             TaskDTO taskDTO = new TaskDTO();
             taskDTO.setId(task.getId());
             taskDTO.setTitle(task.getTitle());
@@ -222,12 +335,13 @@ public class ProjectService {
             taskDTO.setProjectId(task.getProjectId());
             taskDTO.setAssigneeId(task.getAssigneeId());
             taskDTO.setCreatedBy(task.getCreatedBy());
+            taskDTO.setRank(task.getRank());
             taskDTO.setDueDate(task.getDueDate());
             taskDTO.setCreatedAt(task.getCreatedAt());
             taskDTO.setUpdatedAt(task.getUpdatedAt());
 
             // Set assignee
-            if (task.getAssigneeId() != null) {
+            if (fields.includes("assignee") && task.getAssigneeId() != null) {
                 User assignee = userRepository.findById(task.getAssigneeId()).orElse(null);
                 if (assignee != null) {
                     UserDTO assigneeDTO = new UserDTO(
@@ -241,7 +355,7 @@ public class ProjectService {
             }
 
             // Set creator
-            User creator = userRepository.findById(task.getCreatedBy()).orElse(null);
+            User creator = fields.includes("creator") ? userRepository.findById(task.getCreatedBy()).orElse(null) : null;
             if (creator != null) {
                 UserDTO creatorDTO = new UserDTO(
                         creator.getId(),
@@ -254,46 +368,24 @@ public class ProjectService {
 
             return taskDTO;
         }).collect(Collectors.toList());
-        projectDTO.setTasks(taskDTOs);
-
-        return projectDTO;
     }
 
-    public ProjectDTO updateProject(UUID projectId, String name, String description, UUID userId) {
-        Project project = projectRepository.findOwnerProjectById(projectId, userId)
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied."));
-
-        project.setName(name);
-        project.setDescription(description);
-        Project updatedProject = projectRepository.save(project);
-
-        ProjectDTO projectDTO = new ProjectDTO();
-        projectDTO.setId(updatedProject.getId());
-        projectDTO.setName(updatedProject.getName());
-        projectDTO.setDescription(updatedProject.getDescription());
-        projectDTO.setOwnerId(updatedProject.getOwnerId());
-        projectDTO.setCreatedAt(updatedProject.getCreatedAt());
-        projectDTO.setUpdatedAt(updatedProject.getUpdatedAt());
-
-        // Set owner
-        User owner = userRepository.findById(updatedProject.getOwnerId()).orElse(null);
-        if (owner != null) {
-            UserDTO ownerDTO = new UserDTO(
-                    owner.getId(),
-                    owner.getEmail(),
-                    owner.getName(),
-                    owner.getAvatar()
-            );
-            projectDTO.setOwner(ownerDTO);
-        }
-
-        return projectDTO;
+    private String encodeActivityCursor(LocalDateTime changedAt, UUID id) {
+        String position = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    public void deleteProject(UUID projectId, UUID userId) {
-        Project project = projectRepository.findOwnerProjectById(projectId, userId)
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied."));
-
-        projectRepository.delete(project);
+    private String[] decodeActivityCursor(String cursor) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid activity cursor.");
+        }
+        String[] parts = position.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid activity cursor.");
+        }
+        return parts;
     }
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.taskmanager.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of task_history: creates upcoming partitions,
+ * detaches partitions older than the retention window into gzip-compressed CSV
+ * archives and restores archived months on demand.
+ */
+@Service
+public class TaskHistoryPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskHistoryPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "task_history_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Archives name their columns, since the physical column order depends on how the
+    // database was migrated (V2 to V4 or V10)
+    private static final List<String> COLUMNS = List.of("id", "task_id", "project_id", "field_name", "old_value",
+            "new_value", "changed_by", "change_type", "changed_at", "description", "task_version");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${history.partition.months-ahead:2}")
+    private int monthsAhead;
+
+    // Number of months to keep attached, 0 disables retention
+    @Value("${history.retention.months:0}")
+    private int retentionMonths;
+
+    @Value("${history.archive.dir:./history-archive}")
+    private String archiveDir;
+
+    // Months (yyyy-MM) that are restored on startup and exempt from retention
+    @Value("${history.archive.restore-months:}")
+    private Set<String> restoreMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!isPartitioned()) {
+            log.warn("task_history is not partitioned, run V2__Partition_task_history.sql to enable retention");
+            return;
+        }
+        // A month left detached by an interrupted archive run would block its restore
+        archiveDetachedPartitions();
+        for (String month : restoreMonths) {
+            if (month.isBlank()) {
+                continue;
+            }
+            try {
+                restoreArchive(YearMonth.parse(month.trim()));
+            } catch (RuntimeException e) {
+                log.warn("Could not restore task history archive for {}", month, e);
+            }
+        }
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${history.partition.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        archiveDetachedPartitions();
+
+        if (retentionMonths > 0) {
+            YearMonth cutoff = current.minusMonths(retentionMonths);
+            for (YearMonth month : getAttachedMonths()) {
+                if (month.isBefore(cutoff) && !restoreMonths.contains(month.toString())) {
+                    archivePartition(month);
+                }
+            }
+        }
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF task_history FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Exports the partition for the given month to the archive directory, then detaches
+     * and drops it. The partition stays attached and readable until the archive file is
+     * complete, so a failed export leaves the month as it was for the next run to retry.
+     */
+    public void archivePartition(YearMonth month) {
+        String partition = partitionName(month);
+        Path target = archivePath(month);
+
+        try {
+            Files.createDirectories(target.getParent());
+
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (Connection connection = dataSource.getConnection();
+                 OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                long rows = copyManager(connection).copyOut(
+                        "COPY " + partition + " (" + String.join(", ", COLUMNS) + ") TO STDOUT WITH (FORMAT csv, HEADER true)", out);
+                log.info("Archived {} task history rows from {} to {}", rows, partition, target);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException("Failed to archive task history partition " + partition, e);
+        }
+
+        boolean attached = getAttachedMonths().contains(month);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (attached) {
+                jdbcTemplate.execute("ALTER TABLE task_history DETACH PARTITION " + partition);
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+    }
+
+    /**
+     * Archives task_history_* tables that are no longer attached, such as months an
+     * earlier version detached before an export that then failed.
+     */
+    public void archiveDetachedPartitions() {
+        List<YearMonth> attached = getAttachedMonths();
+        for (YearMonth month : getPartitionTableMonths()) {
+            if (!attached.contains(month)) {
+                try {
+                    archivePartition(month);
+                } catch (RuntimeException e) {
+                    log.warn("Could not archive detached task history partition for {}", month, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-attaches an archived month. Restored months should also be listed in
+     * history.archive.restore-months, otherwise the next retention run archives them again.
+     */
+    public void restoreArchive(YearMonth month) {
+        Path source = archivePath(month);
+        if (!Files.exists(source)) {
+            throw new RuntimeException("No task history archive found for " + month);
+        }
+        if (getAttachedMonths().contains(month)) {
+            return;
+        }
+
+        // Loaded into a standalone table that is only attached once the whole archive is in,
+        // so a failed load never shows up as a partially restored month
+        List<String> columns = archiveColumns(source);
+        String partition = partitionName(month);
+        String staging = partition + "_restore";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + staging);
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE task_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        try (Connection connection = dataSource.getConnection();
+             InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            long rows = copyManager(connection).copyIn(
+                    "COPY " + staging + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv, HEADER true)", in);
+            log.info("Restored {} task history rows for {} from {}", rows, month, source);
+        } catch (IOException | SQLException e) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + staging);
+            throw new RuntimeException("Failed to restore task history archive " + source, e);
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + partition);
+            jdbcTemplate.execute(String.format(
+                    "ALTER TABLE task_history ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+        });
+    }
+
+    // COPY only skips the header line, so the columns are taken from it here. Archives written
+    // before the column list was fixed are in the physical order of the database that wrote them.
+    private List<String> archiveColumns(Path source) {
+        String header;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(source)), StandardCharsets.UTF_8))) {
+            header = reader.readLine();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read task history archive " + source, e);
+        }
+        List<String> columns = header == null ? List.of() : Arrays.asList(header.split(","));
+        if (columns.size() != COLUMNS.size() || !columns.containsAll(COLUMNS)) {
+            throw new RuntimeException("Unexpected columns in task history archive " + source + ": " + header);
+        }
+        return columns;
+    }
+
+    public List<YearMonth> getAttachedMonths() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'task_history'", String.class);
+
+        return partitions.stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // Months of every task_history_yyyy_MM table, attached or not
+    private List<YearMonth> getPartitionTableMonths() {
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = current_schema() AND c.relkind IN ('r', 'p') " +
+                "AND c.relname ~ '^task_history_[0-9]{4}_[0-9]{2}$'", String.class);
+
+        return tables.stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = 'task_history'", Integer.class);
+        return count != null && count > 0;
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private Path archivePath(YearMonth month) {
+        return Paths.get(archiveDir, partitionName(month) + ".csv.gz");
+    }
+
+    private CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+}
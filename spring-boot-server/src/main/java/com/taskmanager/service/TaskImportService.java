@@ -0,0 +1,350 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.taskmanager.dto.TaskImportError;
+import com.taskmanager.dto.TaskImportResponse;
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.ProjectMember;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.reminder.DueDateScheduler;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from CSV or NDJSON uploads. The upload is read row by row and valid
+ * rows are streamed into a single COPY, so memory use does not grow with the upload.
+ * Invalid rows are skipped and reported; a malformed file aborts the whole import.
+ */
+@Service
+@Timed("taskmanager.service")
+public class TaskImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private static final String COPY_SQL = "COPY tasks (id, title, description, status, priority, project_id, " +
+            "assignee_id, created_by, rank, start_date, due_date, created_at, updated_at, version, " +
+            "last_edited_by, tags, custom_fields) FROM STDIN";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DueDateScheduler dueDateScheduler;
+
+    @Autowired
+    private TaskRankRebalancer taskRankRebalancer;
+
+    @Transactional
+    public TaskImportResponse importTasks(UUID projectId, InputStream input, Format format, UUID userId) {
+        if (!projectRepository.findUserProjectById(projectId, userId).isPresent()) {
+            throw new RuntimeException("Project not found or access denied.");
+        }
+
+        Set<UUID> memberIds = projectMemberRepository.findByProjectId(projectId).stream()
+                .map(ProjectMember::getUserId)
+                .collect(Collectors.toSet());
+
+        // Imported cards are appended to the bottom of their column in file order. The columns
+        // stay locked until the import commits, so no card elsewhere gets the same ranks.
+        Map<TaskStatus, String> lastRanks = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            taskRankRebalancer.lockColumn(projectId, status);
+            lastRanks.put(status, taskRepository.findFirstByProjectIdAndStatusOrderByRankDesc(projectId, status)
+                    .map(Task::getRank)
+                    .orElse(null));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskImportError> errors = new ArrayList<>();
+        long totalRows = 0;
+        long totalFailed = 0;
+
+        // Participates in the JPA transaction, so the import commits or rolls back as a whole
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (MappingIterator<Map<String, Object>> rows = openReader(input, format)) {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+                while (true) {
+                    Map<String, Object> row;
+                    try {
+                        if (!rows.hasNextValue()) {
+                            break;
+                        }
+                        row = rows.nextValue();
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("Malformed input after row " + totalRows + ": " + e.getMessage(), e);
+                    }
+                    totalRows++;
+
+                    try {
+                        appendRow(buffer, row, projectId, userId, memberIds, lastRanks, now);
+                    } catch (IllegalArgumentException e) {
+                        totalFailed++;
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add(new TaskImportError(totalRows, e.getMessage(), "INVALID_ROW"));
+                        }
+                    }
+
+                    if (buffer.length() >= FLUSH_THRESHOLD) {
+                        flush(copyIn, buffer);
+                    }
+                }
+                flush(copyIn, buffer);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Task import", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read import: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        // Appended ranks only grow, so each column's last one is its longest
+        lastRanks.forEach((status, rank) -> {
+            if (rank != null) {
+                taskRankRebalancer.rankAssigned(projectId, status, rank);
+            }
+        });
+
+        // COPY bypasses TaskService, so the reminders reread their window instead
+        if (totalRows > totalFailed) {
+            dueDateScheduler.reloadAfterCommit();
+        }
+
+        return new TaskImportResponse(totalRows, totalRows - totalFailed, totalFailed,
+                errors, totalFailed > errors.size());
+    }
+
+    private MappingIterator<Map<String, Object>> openReader(InputStream input, Format format) throws IOException {
+        if (format == Format.CSV) {
+            return CSV_MAPPER.readerFor(Map.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+        return objectMapper.readerFor(Map.class).readValues(input);
+    }
+
+    /**
+     * Validates a row and appends it to the COPY buffer. Nothing is appended if the row is invalid.
+     */
+    private void appendRow(StringBuilder buffer, Map<String, Object> row, UUID projectId, UUID userId,
+                           Set<UUID> memberIds, Map<TaskStatus, String> lastRanks, LocalDateTime now) {
+        String title = text(row, "title");
+        if (title == null) {
+            throw new IllegalArgumentException("Title is required.");
+        }
+        checkLength("title", title);
+        String description = text(row, "description");
+        if (description != null) {
+            checkLength("description", description);
+        }
+
+        TaskStatus status = parseEnum(TaskStatus.class, "status", text(row, "status"), TaskStatus.TODO);
+        Priority priority = parseEnum(Priority.class, "priority", text(row, "priority"), Priority.MEDIUM);
+
+        UUID assigneeId = null;
+        String assignee = text(row, "assigneeId");
+        if (assignee != null) {
+            try {
+                assigneeId = UUID.fromString(assignee);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid assigneeId: " + assignee);
+            }
+            if (!memberIds.contains(assigneeId)) {
+                throw new IllegalArgumentException("Assignee is not a member of the project: " + assignee);
+            }
+        }
+
+        LocalDateTime startDate = parseDateTime("startDate", text(row, "startDate"));
+        LocalDateTime dueDate = parseDateTime("dueDate", text(row, "dueDate"));
+        String tags = toJson(parseTags(row.get("tags")));
+        String customFields = toJson(parseCustomFields(row.get("customFields")));
+
+        String rank = TaskRank.after(lastRanks.get(status));
+        lastRanks.put(status, rank);
+
+        appendField(buffer, UUID.randomUUID().toString(), false);
+        appendField(buffer, title, true);
+        appendField(buffer, description, true);
+        appendField(buffer, status.name(), true);
+        appendField(buffer, priority.name(), true);
+        appendField(buffer, projectId.toString(), true);
+        appendField(buffer, assigneeId != null ? assigneeId.toString() : null, true);
+        appendField(buffer, userId.toString(), true);
+        appendField(buffer, rank, true);
+        appendField(buffer, startDate != null ? startDate.toString() : null, true);
+        appendField(buffer, dueDate != null ? dueDate.toString() : null, true);
+        appendField(buffer, now.toString(), true);
+        appendField(buffer, now.toString(), true);
+        appendField(buffer, "0", true);
+        appendField(buffer, null, true);
+        appendField(buffer, tags, true);
+        appendField(buffer, customFields, true);
+        buffer.append('\n');
+    }
+
+    private static String text(Map<String, Object> row, String field) {
+        Object value = row.get(field);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Field " + field + " exceeds " + MAX_TEXT_LENGTH + " characters.");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value, E defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    // Same formats as task creation, plus plain dates
+    private static LocalDateTime parseDateTime(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.endsWith("Z")) {
+                return ZonedDateTime.parse(value).toLocalDateTime();
+            }
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    // NDJSON carries an array, CSV a |-separated cell
+    private static List<String> parseTags(Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().filter(Objects::nonNull).map(Object::toString).collect(Collectors.toList());
+        }
+        return Arrays.stream(value.toString().split("\\|"))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // NDJSON carries an object, CSV a cell containing a JSON object
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseCustomFields(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return Collections.emptyMap();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        try {
+            return objectMapper.readValue(value.toString(), Map.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("customFields must be a JSON object.");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize " + value);
+        }
+    }
+
+    // PostgreSQL COPY text format
+    private static void appendField(StringBuilder buffer, String value, boolean separator) {
+        if (separator) {
+            buffer.append('\t');
+        }
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
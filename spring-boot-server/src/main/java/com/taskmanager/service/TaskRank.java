@@ -0,0 +1,159 @@
+package com.taskmanager.service;
+
+/**
+ * Lexicographic ranks for ordering cards inside a board column.
+ *
+ * Ranks are base-36 strings compared with plain string (byte) ordering, so the
+ * database column must use the "C" collation. A rank never ends in '0', which
+ * guarantees there is always room for another rank between any two ranks.
+ */
+public final class TaskRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Appends increment a fixed-width prefix so they stay short instead of creeping towards "zzz..."
+    private static final int APPEND_WIDTH = 6;
+
+    private TaskRank() {
+    }
+
+    public static String initial() {
+        return String.valueOf(DIGITS.charAt(BASE / 2));
+    }
+
+    /**
+     * Returns a rank strictly between lower and upper. Either bound may be null
+     * for the start or end of the column.
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Lower rank must sort before upper rank.");
+        }
+        if (upper == null) {
+            return after(lower);
+        }
+        if (lower == null) {
+            // Prefer a short fixed-width rank, fall back to the midpoint below
+            String rank = before(upper);
+            if (rank != null) {
+                return rank;
+            }
+        }
+
+        String lo = lower != null ? lower : "";
+        String hi = upper;
+        StringBuilder rank = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int l = i < lo.length() ? digit(lo.charAt(i)) : 0;
+            int h = hi != null && i < hi.length() ? digit(hi.charAt(i)) : BASE;
+
+            if (l == h) {
+                rank.append(DIGITS.charAt(l));
+                continue;
+            }
+
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                rank.append(DIGITS.charAt(mid));
+                return rank.toString();
+            }
+
+            // Adjacent digits: keep the lower one and look for room after it
+            rank.append(DIGITS.charAt(l));
+            hi = null;
+        }
+    }
+
+    /**
+     * Returns a short rank sorting after the given one, for appending to a column.
+     */
+    public static String after(String rank) {
+        if (rank == null) {
+            return initial();
+        }
+
+        char[] digits = new char[APPEND_WIDTH];
+        for (int i = 0; i < APPEND_WIDTH; i++) {
+            digits[i] = i < rank.length() ? rank.charAt(i) : '0';
+        }
+
+        for (int i = APPEND_WIDTH - 1; i >= 0; i--) {
+            int d = digit(digits[i]);
+            if (d < BASE - 1) {
+                digits[i] = DIGITS.charAt(d + 1);
+                return new String(digits, 0, i + 1);
+            }
+            digits[i] = '0';
+        }
+
+        return rank + DIGITS.charAt(BASE / 2);
+    }
+
+    /**
+     * Returns a short rank sorting before the given one, or null if there is no
+     * fixed-width rank below it.
+     */
+    private static String before(String rank) {
+        char[] digits = new char[APPEND_WIDTH];
+        for (int i = 0; i < APPEND_WIDTH; i++) {
+            digits[i] = i < rank.length() ? rank.charAt(i) : '0';
+        }
+
+        for (int i = APPEND_WIDTH - 1; i >= 0; i--) {
+            int d = digit(digits[i]);
+            if (d > 0) {
+                digits[i] = DIGITS.charAt(d - 1);
+                // Trailing zeros can be dropped without changing the order
+                int length = APPEND_WIDTH;
+                while (length > 0 && digits[length - 1] == '0') {
+                    length--;
+                }
+                return length > 0 ? new String(digits, 0, length) : null;
+            }
+            digits[i] = DIGITS.charAt(BASE - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns count evenly spaced ranks of equal length, used when rebalancing a column.
+     */
+    public static String[] spaced(int count) {
+        int width = 1;
+        long slots = BASE;
+        while (slots < 2L * (count + 1)) {
+            slots *= BASE;
+            width++;
+        }
+
+        long step = slots / (count + 1);
+        String[] ranks = new String[count];
+        for (int i = 0; i < count; i++) {
+            long value = (i + 1) * step;
+            if (value % BASE == 0) {
+                // step >= 2, so this stays below the next value
+                value++;
+            }
+            ranks[i] = encode(value, width);
+        }
+        return ranks;
+    }
+
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return d;
+    }
+}
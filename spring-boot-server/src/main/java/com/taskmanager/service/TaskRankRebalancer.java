@@ -0,0 +1,108 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Periodically rewrites the ranks of board columns whose ranks have grown long
+ * from repeated inserts at the same position. Writes that hand out such a rank flag
+ * their column with rankAssigned, and the periodic run only rebalances flagged
+ * columns, so its cost does not grow with the tasks table.
+ *
+ * Everything that assigns a rank in a column first takes the column's lock with
+ * lockColumn, so ranks are always computed from the column's committed state.
+ */
+@Service
+public class TaskRankRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${task.rank.max-length:24}")
+    private int maxRankLength;
+
+    // Flagged columns rebalanced per run, oldest flags first
+    @Value("${task.rank.rebalance-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(cron = "${task.rank.rebalance-cron:0 */15 * * * *}")
+    public void rebalanceLongColumns() {
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+                "SELECT project_id, status FROM task_rank_rebalances ORDER BY flagged_at LIMIT ?",
+                batchSize);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Map<String, Object> column : columns) {
+            UUID projectId = (UUID) column.get("project_id");
+            TaskStatus status = TaskStatus.valueOf((String) column.get("status"));
+            Integer updated = transactionTemplate.execute(tx -> rebalanceColumn(projectId, status));
+            log.info("Rebalanced {} task ranks in project {} column {}", updated, projectId, status);
+        }
+    }
+
+    /**
+     * Takes the lock of a board column until the current transaction ends. Must be
+     * called inside a transaction, before the column's ranks are read.
+     */
+    public void lockColumn(UUID projectId, TaskStatus status) {
+        // Stable across JVMs, unlike enum hash codes; a collision only serializes two columns
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)",
+                projectId.hashCode(), status.name().hashCode());
+    }
+
+    /**
+     * Flags the column for the next periodic run when the rank just assigned in it is
+     * longer than task.rank.max-length. Must be called inside the transaction that
+     * writes the rank, holding the column's lock.
+     */
+    public void rankAssigned(UUID projectId, TaskStatus status, String rank) {
+        if (rank.length() > maxRankLength) {
+            jdbcTemplate.update("INSERT INTO task_rank_rebalances (project_id, status) VALUES (?, ?) " +
+                    "ON CONFLICT DO NOTHING", projectId, status.name());
+        }
+    }
+
+    /**
+     * Assigns evenly spaced ranks to a column, keeping the current order, and clears
+     * its flag. Must be called inside a transaction; the column stays locked until it
+     * commits.
+     */
+    public int rebalanceColumn(UUID projectId, TaskStatus status) {
+        lockColumn(projectId, status);
+        jdbcTemplate.update("DELETE FROM task_rank_rebalances WHERE project_id = ? AND status = ?",
+                projectId, status.name());
+        List<Map<String, Object>> tasks = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE project_id = ? AND status = ? ORDER BY rank, id",
+                projectId, status.name());
+
+        String[] ranks = TaskRank.spaced(tasks.size());
+        List<Object[]> updates = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            updates.add(new Object[]{ranks[i], tasks.get(i).get("id")});
+        }
+
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate("UPDATE tasks SET rank = ? WHERE id = ?", updates)) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+}
@@ -1,20 +1,31 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.*;
+import com.taskmanager.exception.TaskVersionConflictException;
 import com.taskmanager.model.*;
+import com.taskmanager.reminder.DueDateScheduler;
 import com.taskmanager.repository.ProjectRepository;
 import com.taskmanager.repository.TaskHistoryRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("taskmanager.service")
 public class TaskService {
 
     @Autowired
@@ -29,79 +40,217 @@ public class TaskService {
     @Autowired
     private TaskHistoryRepository taskHistoryRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DueDateScheduler dueDateScheduler;
+
+    @Autowired
+    private TaskRankRebalancer taskRankRebalancer;
+
+    private static final int MAX_PATCH_ATTEMPTS = 3;
+    private static final int DEFAULT_BOARD_COLUMN_SIZE = 20;
+    private static final int MAX_BOARD_COLUMN_SIZE = 200;
+    private static final int DEFAULT_ASSIGNED_PAGE_SIZE = 50;
+    private static final int MAX_ASSIGNED_PAGE_SIZE = 200;
+
+    // TaskDTO fields read straight from the Task attribute of the same name
+    private static final List<String> TASK_FIELDS = List.of("id", "title", "description", "status", "priority",
+            "projectId", "assigneeId", "createdBy", "rank", "startDate", "dueDate", "createdAt", "updatedAt",
+            "version", "lastEditedBy", "tags", "customFields");
+
+    @Transactional(readOnly = true)
     public List<TaskDTO> getProjectTasks(UUID projectId, UUID userId) {
+        return getProjectTasks(projectId, userId, FieldSelection.ALL);
+    }
+
+    /**
+     * Returns the project's tasks with only the selected fields read and resolved.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getProjectTasks(UUID projectId, UUID userId, FieldSelection fields) {
         // Check if user has access to the project
         if (!projectRepository.findUserProjectById(projectId, userId).isPresent()) {
             throw new RuntimeException("Project not found or access denied.");
         }
 
-        List<Task> tasks = taskRepository.findProjectTasksByUser(projectId, userId);
+        List<Task> tasks = fields.isAll() ?
+                taskRepository.findProjectTasksByUser(projectId, userId) :
+                taskRepository.findProjectTasksByUser(projectId, userId, taskAttributes(fields));
 
-        return tasks.stream().map(task -> {
-            TaskDTO taskDTO = new TaskDTO();
-            taskDTO.setId(task.getId());
-            taskDTO.setTitle(task.getTitle());
-            taskDTO.setDescription(task.getDescription());
-            taskDTO.setStatus(task.getStatus());
-            taskDTO.setPriority(task.getPriority());
-            taskDTO.setProjectId(task.getProjectId());
-            taskDTO.setAssigneeId(task.getAssigneeId());
-            taskDTO.setCreatedBy(task.getCreatedBy());
-            taskDTO.setStartDate(task.getStartDate());
-            taskDTO.setDueDate(task.getDueDate());
-            taskDTO.setCreatedAt(task.getCreatedAt());
-            taskDTO.setUpdatedAt(task.getUpdatedAt());
-            
-            // Set new fields
-            taskDTO.setVersion(task.getVersion());
-            taskDTO.setLastEditedBy(task.getLastEditedBy());
-            taskDTO.setTags(task.getTagsList());
-            taskDTO.setCustomFields(task.getCustomFieldsMap());
-
-            // Set assignee
-            if (task.getAssigneeId() != null) {
-                User assignee = userRepository.findById(task.getAssigneeId()).orElse(null);
-                if (assignee != null) {
-                    UserDTO assigneeDTO = new UserDTO(
-                            assignee.getId(),
-                            assignee.getEmail(),
-                            assignee.getName(),
-                            assignee.getAvatar()
-                    );
-                    taskDTO.setAssignee(assigneeDTO);
-                }
+        return convertToDTOs(tasks, fields);
+    }
+
+    /**
+     * Returns the project's tasks grouped by status with at most limit cards per column.
+     * When status is given only that column is returned, continuing after cursor.
+     */
+    @Transactional(readOnly = true)
+    public BoardDTO getProjectBoard(UUID projectId, TaskStatus status, String cursor, Integer limit, UUID userId) {
+        return getProjectBoard(projectId, status, cursor, limit, userId, FieldSelection.ALL);
+    }
+
+    /**
+     * Same as getProjectBoard, with only the selected card fields read and resolved.
+     */
+    @Transactional(readOnly = true)
+    public BoardDTO getProjectBoard(UUID projectId, TaskStatus status, String cursor, Integer limit, UUID userId,
+                                    FieldSelection fields) {
+        if (!projectRepository.findUserProjectById(projectId, userId).isPresent()) {
+            throw new RuntimeException("Project not found or access denied.");
+        }
+        if (cursor != null && status == null) {
+            throw new IllegalArgumentException("A board cursor requires a status.");
+        }
+
+        int columnSize = limit != null ? Math.min(Math.max(limit, 1), MAX_BOARD_COLUMN_SIZE) : DEFAULT_BOARD_COLUMN_SIZE;
+        String afterRank = null;
+        UUID afterId = null;
+        if (cursor != null) {
+            String[] position = decodeBoardCursor(cursor);
+            afterRank = position[0];
+            afterId = UUID.fromString(position[1]);
+        }
+
+        // One extra card per column tells whether the column continues
+        List<Object[]> rows;
+        if (fields.isAll()) {
+            rows = taskRepository.findBoardColumns(projectId, status, afterRank, afterId, columnSize + 1);
+        } else {
+            // Columns are grouped by status and cursors are built from the rank
+            Set<String> attributes = taskAttributes(fields);
+            attributes.add("status");
+            attributes.add("rank");
+            rows = taskRepository.findBoardColumns(projectId, status, afterRank, afterId, columnSize + 1, attributes);
+        }
+
+        Map<TaskStatus, List<Task>> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Long> totals = new EnumMap<>(TaskStatus.class);
+        List<Task> pageTasks = new ArrayList<>();
+        for (Object[] row : rows) {
+            Task task = (Task) row[0];
+            List<Task> columnTasks = tasksByStatus.computeIfAbsent(task.getStatus(), s -> new ArrayList<>());
+            totals.put(task.getStatus(), (Long) row[1]);
+            columnTasks.add(task);
+            if (columnTasks.size() <= columnSize) {
+                pageTasks.add(task);
             }
+        }
 
-            // Set creator
-            User creator = userRepository.findById(task.getCreatedBy()).orElse(null);
-            if (creator != null) {
-                UserDTO creatorDTO = new UserDTO(
-                        creator.getId(),
-                        creator.getEmail(),
-                        creator.getName(),
-                        creator.getAvatar()
-                );
-                taskDTO.setCreator(creatorDTO);
+        Map<UUID, TaskDTO> dtos = new HashMap<>();
+        for (TaskDTO dto : convertToDTOs(pageTasks, fields)) {
+            dtos.put(dto.getId(), dto);
+        }
+
+        List<BoardColumnDTO> columns = new ArrayList<>();
+        for (TaskStatus columnStatus : TaskStatus.values()) {
+            if (status != null && status != columnStatus) {
+                continue;
             }
+            List<Task> columnTasks = tasksByStatus.getOrDefault(columnStatus, Collections.emptyList());
+            String nextCursor = null;
+            if (columnTasks.size() > columnSize) {
+                columnTasks = columnTasks.subList(0, columnSize);
+                Task last = columnTasks.get(columnSize - 1);
+                nextCursor = encodeBoardCursor(last.getRank(), last.getId());
+            }
+            List<TaskDTO> columnDTOs = columnTasks.stream().map(task -> dtos.get(task.getId())).collect(Collectors.toList());
+            columns.add(new BoardColumnDTO(columnStatus, totals.getOrDefault(columnStatus, 0L), columnDTOs, nextCursor));
+        }
 
-            // Set last editor
-            if (task.getLastEditedBy() != null) {
-                User lastEditor = userRepository.findById(task.getLastEditedBy()).orElse(null);
-                if (lastEditor != null) {
-                    UserDTO lastEditorDTO = new UserDTO(
-                            lastEditor.getId(),
-                            lastEditor.getEmail(),
-                            lastEditor.getName(),
-                            lastEditor.getAvatar()
-                    );
-                    taskDTO.setLastEditor(lastEditorDTO);
-                }
+        return new BoardDTO(projectId, columns);
+    }
+
+    private String encodeBoardCursor(String rank, UUID id) {
+        String position = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeBoardCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = position.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid board cursor.");
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the tasks assigned to the user across the projects they can access,
+     * soonest due first, then by priority from HIGH to LOW, with tasks without a due
+     * date last. Without a status DONE tasks are left out. A page continues after
+     * cursor.
+     */
+    @Transactional(readOnly = true)
+    public AssignedTasksDTO getAssignedTasks(UUID userId, TaskStatus status, String cursor, Integer limit,
+                                             FieldSelection fields) {
+        int pageSize = limit != null ? Math.min(Math.max(limit, 1), MAX_ASSIGNED_PAGE_SIZE) : DEFAULT_ASSIGNED_PAGE_SIZE;
+        LocalDateTime afterDueDate = null;
+        Priority afterPriority = null;
+        UUID afterId = null;
+        if (cursor != null) {
+            String[] position = decodeAssignedCursor(cursor);
+            try {
+                afterDueDate = position[0].isEmpty() ? null : LocalDateTime.parse(position[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid assigned tasks cursor.");
             }
+            afterPriority = Priority.valueOf(position[1]);
+            afterId = UUID.fromString(position[2]);
+        }
 
-            return taskDTO;
-        }).collect(Collectors.toList());
+        // One extra task tells whether another page exists. Tasks without a due date
+        // come after all dated ones, so they are only read once those run out.
+        List<Task> tasks = new ArrayList<>();
+        if (cursor == null || afterDueDate != null) {
+            tasks.addAll(findAssignedTasks(userId, status, true, afterDueDate, afterPriority, afterId,
+                    pageSize + 1, fields));
+        }
+        if (tasks.size() <= pageSize) {
+            boolean continuesUndated = cursor != null && afterDueDate == null;
+            tasks.addAll(findAssignedTasks(userId, status, false, null,
+                    continuesUndated ? afterPriority : null, continuesUndated ? afterId : null,
+                    pageSize + 1 - tasks.size(), fields));
+        }
+
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            Task last = tasks.get(pageSize - 1);
+            nextCursor = encodeAssignedCursor(last.getDueDate(), last.getPriority(), last.getId());
+        }
+        return new AssignedTasksDTO(convertToDTOs(tasks, fields), nextCursor);
+    }
+
+    private List<Task> findAssignedTasks(UUID userId, TaskStatus status, boolean dated, LocalDateTime afterDueDate,
+                                         Priority afterPriority, UUID afterId, int limit, FieldSelection fields) {
+        if (fields.isAll()) {
+            return taskRepository.findAssignedTasks(userId, status, dated, afterDueDate, afterPriority, afterId, limit);
+        }
+        // Cursors are built from the due date and priority
+        Set<String> attributes = taskAttributes(fields);
+        attributes.add("dueDate");
+        attributes.add("priority");
+        return taskRepository.findAssignedTasks(userId, status, dated, afterDueDate, afterPriority, afterId, limit,
+                attributes);
+    }
+
+    private String encodeAssignedCursor(LocalDateTime dueDate, Priority priority, UUID id) {
+        String position = (dueDate != null ? dueDate.toString() : "") + "|" + priority + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeAssignedCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = position.split("\\|");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid assigned tasks cursor.");
+        }
+        return parts;
     }
 
+    @Transactional
     public TaskDTO createTask(UUID projectId, String title, String description, Priority priority, TaskStatus status,
                               UUID assigneeId, UUID createdBy, java.time.LocalDateTime startDate, java.time.LocalDateTime dueDate, UUID userId) {
         // Check if user has access to the project
@@ -120,7 +269,17 @@ public class TaskService {
         task.setStartDate(startDate);
         task.setDueDate(dueDate);
 
+        // New cards go to the bottom of their column; the lock keeps concurrent creates from
+        // reading the same last rank
+        taskRankRebalancer.lockColumn(projectId, task.getStatus());
+        String lastRank = taskRepository.findFirstByProjectIdAndStatusOrderByRankDesc(projectId, task.getStatus())
+                .map(Task::getRank)
+                .orElse(null);
+        task.setRank(TaskRank.after(lastRank));
+        taskRankRebalancer.rankAssigned(projectId, task.getStatus(), task.getRank());
+
         Task savedTask = taskRepository.save(task);
+        trackDueDate(savedTask, null, null);
 
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(savedTask.getId());
@@ -131,6 +290,7 @@ public class TaskService {
         taskDTO.setProjectId(savedTask.getProjectId());
         taskDTO.setAssigneeId(savedTask.getAssigneeId());
         taskDTO.setCreatedBy(savedTask.getCreatedBy());
+        taskDTO.setRank(savedTask.getRank());
         taskDTO.setStartDate(savedTask.getStartDate());
         taskDTO.setDueDate(savedTask.getDueDate());
         taskDTO.setCreatedAt(savedTask.getCreatedAt());
@@ -176,6 +336,9 @@ public class TaskService {
         Task task = taskRepository.findUserTaskById(taskId, userId)
                 .orElseThrow(() -> new RuntimeException("Task not found or access denied."));
 
+        LocalDateTime originalDueDate = task.getDueDate();
+        TaskStatus originalStatus = task.getStatus();
+
         task.setTitle(title);
         task.setDescription(description);
         task.setStatus(status);
@@ -185,6 +348,7 @@ public class TaskService {
         task.setDueDate(dueDate);
 
         Task updatedTask = taskRepository.save(task);
+        trackDueDate(updatedTask, originalDueDate, originalStatus);
 
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(updatedTask.getId());
@@ -195,6 +359,7 @@ public class TaskService {
         taskDTO.setProjectId(updatedTask.getProjectId());
         taskDTO.setAssigneeId(updatedTask.getAssigneeId());
         taskDTO.setCreatedBy(updatedTask.getCreatedBy());
+        taskDTO.setRank(updatedTask.getRank());
         taskDTO.setStartDate(updatedTask.getStartDate());
         taskDTO.setDueDate(updatedTask.getDueDate());
         taskDTO.setCreatedAt(updatedTask.getCreatedAt());
@@ -240,13 +405,52 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found or access denied."));
 
         taskRepository.delete(task);
+        dueDateScheduler.taskDeleted(taskId);
     }
 
-    @Transactional
     public TaskDTO patchTask(UUID taskId, TaskPatchDTO patchDTO, UUID userId) {
+        return patchTask(taskId, patchDTO, patchDTO.getVersion(), userId);
+    }
+
+    /**
+     * Applies a partial update. When expectedVersion is given and the task has moved on
+     * since, the patch is still applied if none of its fields were changed in between;
+     * otherwise a TaskVersionConflictException is thrown. A concurrent commit between our
+     * read and write is retried a few times with jitter instead of taking row locks.
+     */
+    public TaskDTO patchTask(UUID taskId, TaskPatchDTO patchDTO, Integer expectedVersion, UUID userId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Inside an outer transaction a failed attempt marks it rollback-only, so retrying is pointless
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : MAX_PATCH_ATTEMPTS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyPatch(taskId, patchDTO, expectedVersion, userId));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new TaskVersionConflictException(taskId, null);
+                }
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(5, 25L * attempt));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new TaskVersionConflictException(taskId, null);
+                }
+            }
+        }
+    }
+
+    private TaskDTO applyPatch(UUID taskId, TaskPatchDTO patchDTO, Integer expectedVersion, UUID userId) {
         Task task = taskRepository.findUserTaskById(taskId, userId)
                 .orElseThrow(() -> new RuntimeException("Task not found or access denied."));
 
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            Set<String> changedFields = getFieldsChangedSince(task, expectedVersion);
+            if (changedFields == null || !Collections.disjoint(changedFields, getPatchedFields(patchDTO))) {
+                throw new TaskVersionConflictException(taskId, task.getVersion());
+            }
+        }
+
         // Store original values for history tracking
         String originalTitle = task.getTitle();
         String originalDescription = task.getDescription();
@@ -290,39 +494,108 @@ public class TaskService {
         // Set last edited by
         task.setLastEditedBy(userId);
 
-        Task savedTask = taskRepository.save(task);
+        // Flush now so a concurrent update surfaces here and history gets the new version
+        Task savedTask = taskRepository.saveAndFlush(task);
+
+        trackDueDate(savedTask, originalDueDate, originalStatus);
 
         // Record history for changed fields
-        recordTaskHistory(taskId, originalTitle, patchDTO.getTitle(), "title", userId);
-        recordTaskHistory(taskId, originalDescription, patchDTO.getDescription(), "description", userId);
-        recordTaskHistory(taskId, originalStatus != null ? originalStatus.toString() : null,
+        recordTaskHistory(savedTask, originalTitle, patchDTO.getTitle(), "title", userId);
+        recordTaskHistory(savedTask, originalDescription, patchDTO.getDescription(), "description", userId);
+        recordTaskHistory(savedTask, originalStatus != null ? originalStatus.toString() : null,
                          patchDTO.getStatus() != null ? patchDTO.getStatus().toString() : null, "status", userId);
-        recordTaskHistory(taskId, originalPriority != null ? originalPriority.toString() : null,
+        recordTaskHistory(savedTask, originalPriority != null ? originalPriority.toString() : null,
                          patchDTO.getPriority() != null ? patchDTO.getPriority().toString() : null, "priority", userId);
-        recordTaskHistory(taskId, originalAssigneeId != null ? originalAssigneeId.toString() : null,
+        recordTaskHistory(savedTask, originalAssigneeId != null ? originalAssigneeId.toString() : null,
                          patchDTO.getAssigneeId() != null ? patchDTO.getAssigneeId().toString() : null, "assigneeId", userId);
-        recordTaskHistory(taskId, originalStartDate != null ? originalStartDate.toString() : null,
+        recordTaskHistory(savedTask, originalStartDate != null ? originalStartDate.toString() : null,
                          patchDTO.getStartDate() != null ? patchDTO.getStartDate().toString() : null, "startDate", userId);
-        recordTaskHistory(taskId, originalDueDate != null ? originalDueDate.toString() : null,
+        recordTaskHistory(savedTask, originalDueDate != null ? originalDueDate.toString() : null,
                          patchDTO.getDueDate() != null ? patchDTO.getDueDate().toString() : null, "dueDate", userId);
-        recordTaskHistory(taskId, originalTags != null ? originalTags.toString() : null,
+        recordTaskHistory(savedTask, originalTags != null ? originalTags.toString() : null,
                          patchDTO.getTags() != null ? patchDTO.getTags().toString() : null, "tags", userId);
-        recordTaskHistory(taskId, originalCustomFields != null ? originalCustomFields.toString() : null,
+        recordTaskHistory(savedTask, originalCustomFields != null ? originalCustomFields.toString() : null,
                          patchDTO.getCustomFields() != null ? patchDTO.getCustomFields().toString() : null, "customFields", userId);
 
         // Convert to DTO
         return convertToDTO(savedTask);
     }
 
+    /**
+     * Moves a card to a status column between two neighbouring cards. Only the moved
+     * row is written; its new rank is derived from the neighbours' ranks.
+     */
     @Transactional
+    public TaskDTO moveTask(UUID taskId, TaskMoveDTO moveDTO, UUID userId) {
+        Task task = taskRepository.findUserTaskById(taskId, userId)
+                .orElseThrow(() -> new RuntimeException("Task not found or access denied."));
+
+        TaskStatus targetStatus = moveDTO.getStatus() != null ? moveDTO.getStatus() : task.getStatus();
+        taskRankRebalancer.lockColumn(task.getProjectId(), targetStatus);
+        String lowerRank = getNeighbourRank(task, moveDTO.getPreviousTaskId(), targetStatus);
+        String upperRank = getNeighbourRank(task, moveDTO.getNextTaskId(), targetStatus);
+
+        if (lowerRank != null && lowerRank.equals(upperRank)) {
+            // Neighbours sharing a rank leave no room between them, so the column is spread out first
+            taskRankRebalancer.rebalanceColumn(task.getProjectId(), targetStatus);
+            lowerRank = taskRepository.findRankById(moveDTO.getPreviousTaskId());
+            upperRank = taskRepository.findRankById(moveDTO.getNextTaskId());
+        }
+
+        String rank;
+        if (lowerRank == null && upperRank == null) {
+            // Dropped without neighbours: append to the column
+            rank = TaskRank.after(taskRepository.findFirstByProjectIdAndStatusOrderByRankDesc(task.getProjectId(), targetStatus)
+                    .map(Task::getRank)
+                    .orElse(null));
+        } else {
+            if (lowerRank != null && upperRank != null && lowerRank.compareTo(upperRank) >= 0) {
+                throw new IllegalArgumentException("Neighbouring tasks are out of order.");
+            }
+            rank = TaskRank.between(lowerRank, upperRank);
+        }
+        taskRankRebalancer.rankAssigned(task.getProjectId(), targetStatus, rank);
+
+        TaskStatus originalStatus = task.getStatus();
+        String originalRank = task.getRank();
+
+        task.setStatus(targetStatus);
+        task.setRank(rank);
+        task.setLastEditedBy(userId);
+
+        Task savedTask = taskRepository.saveAndFlush(task);
+        trackDueDate(savedTask, savedTask.getDueDate(), originalStatus);
+
+        recordTaskHistory(savedTask, originalStatus.toString(), targetStatus.toString(), "status", userId);
+        recordTaskHistory(savedTask, originalRank, rank, "rank", userId);
+
+        return convertToDTO(savedTask);
+    }
+
+    private String getNeighbourRank(Task task, UUID neighbourId, TaskStatus status) {
+        if (neighbourId == null) {
+            return null;
+        }
+        Task neighbour = taskRepository.findById(neighbourId)
+                .filter(t -> t.getProjectId().equals(task.getProjectId()) && t.getStatus() == status)
+                .orElseThrow(() -> new IllegalArgumentException("Neighbouring task is not in the target column."));
+        return neighbour.getRank();
+    }
+
+    /**
+     * Applies the same patch to each task, every task in its own transaction with the
+     * retries of patchTask, so a conflict or a missing task only fails that task.
+     */
     public BulkUpdateResponse bulkUpdateTasks(BulkUpdateRequest request, UUID userId) {
         List<UUID> successfulUpdates = new ArrayList<>();
         List<BulkUpdateError> failedUpdates = new ArrayList<>();
 
         for (UUID taskId : request.getTaskIds()) {
             try {
-                TaskDTO updatedTask = patchTask(taskId, request.getUpdates(), userId);
+                patchTask(taskId, request.getUpdates(), null, userId);
                 successfulUpdates.add(taskId);
+            } catch (TaskVersionConflictException e) {
+                failedUpdates.add(new BulkUpdateError(taskId, e.getMessage(), "VERSION_CONFLICT"));
             } catch (Exception e) {
                 failedUpdates.add(new BulkUpdateError(taskId, e.getMessage(), "UPDATE_FAILED"));
             }
@@ -337,11 +610,28 @@ public class TaskService {
         );
     }
 
+    @Transactional(readOnly = true)
     public List<TaskHistory> getTaskHistory(UUID taskId, UUID userId) {
         return taskHistoryRepository.findUserTaskHistory(taskId, userId);
     }
 
-    private void recordTaskHistory(UUID taskId, String oldValue, String newValue, String fieldName, UUID userId) {
+    @Transactional(readOnly = true)
+    public List<TaskHistory> getRecentTaskHistory(UUID taskId, int days, UUID userId) {
+        // Bounding changed_at lets PostgreSQL prune task_history down to the recent partitions
+        LocalDateTime now = LocalDateTime.now();
+        return taskHistoryRepository.findUserTaskHistoryByDateRange(taskId, now.minusDays(days), now, userId);
+    }
+
+    // Reminders only need to hear of a new due date or of the task becoming done or open again
+    private void trackDueDate(Task task, LocalDateTime originalDueDate, TaskStatus originalStatus) {
+        boolean wasDone = originalStatus == TaskStatus.DONE;
+        boolean isDone = task.getStatus() == TaskStatus.DONE;
+        if (!Objects.equals(originalDueDate, task.getDueDate()) || wasDone != isDone) {
+            dueDateScheduler.dueDateChanged(task.getId(), task.getDueDate(), task.getStatus());
+        }
+    }
+
+    private void recordTaskHistory(Task task, String oldValue, String newValue, String fieldName, UUID userId) {
         if (oldValue == null && newValue == null) {
             return;
         }
@@ -353,7 +643,8 @@ public class TaskService {
         }
 
         TaskHistory history = new TaskHistory(
-                taskId,
+                task.getId(),
+                task.getProjectId(),
                 fieldName,
                 oldValue,
                 newValue,
@@ -362,70 +653,136 @@ public class TaskService {
                 String.format("Changed %s from '%s' to '%s'", fieldName, oldValue, newValue)
         );
 
+        history.setTaskVersion(task.getVersion());
+
         taskHistoryRepository.save(history);
     }
 
-    private TaskDTO convertToDTO(Task task) {
-        TaskDTO taskDTO = new TaskDTO();
-        taskDTO.setId(task.getId());
-        taskDTO.setTitle(task.getTitle());
-        taskDTO.setDescription(task.getDescription());
-        taskDTO.setStatus(task.getStatus());
-        taskDTO.setPriority(task.getPriority());
-        taskDTO.setProjectId(task.getProjectId());
-        taskDTO.setAssigneeId(task.getAssigneeId());
-        taskDTO.setCreatedBy(task.getCreatedBy());
-        taskDTO.setStartDate(task.getStartDate());
-        taskDTO.setDueDate(task.getDueDate());
-        taskDTO.setCreatedAt(task.getCreatedAt());
-        taskDTO.setUpdatedAt(task.getUpdatedAt());
-        
-        // Set new fields
-        taskDTO.setVersion(task.getVersion());
-        taskDTO.setLastEditedBy(task.getLastEditedBy());
-        taskDTO.setTags(task.getTagsList());
-        taskDTO.setCustomFields(task.getCustomFieldsMap());
+    /**
+     * Returns the fields changed after the given version according to history, or null
+     * if history does not account for every version in between (e.g. a PUT update).
+     */
+    private Set<String> getFieldsChangedSince(Task task, Integer sinceVersion) {
+        if (sinceVersion > task.getVersion()) {
+            return null;
+        }
 
-        // Set assignee
-        if (task.getAssigneeId() != null) {
-            User assignee = userRepository.findById(task.getAssigneeId()).orElse(null);
-            if (assignee != null) {
-                UserDTO assigneeDTO = new UserDTO(
-                        assignee.getId(),
-                        assignee.getEmail(),
-                        assignee.getName(),
-                        assignee.getAvatar()
-                );
-                taskDTO.setAssignee(assigneeDTO);
-            }
+        List<TaskHistory> changes = taskHistoryRepository.findByTaskIdAndTaskVersionGreaterThan(task.getId(), sinceVersion);
+        Set<Integer> versions = new HashSet<>();
+        Set<String> fields = new HashSet<>();
+        for (TaskHistory change : changes) {
+            versions.add(change.getTaskVersion());
+            fields.add(change.getFieldName());
         }
 
-        // Set creator
-        User creator = userRepository.findById(task.getCreatedBy()).orElse(null);
-        if (creator != null) {
-            UserDTO creatorDTO = new UserDTO(
-                    creator.getId(),
-                    creator.getEmail(),
-                    creator.getName(),
-                    creator.getAvatar()
-            );
-            taskDTO.setCreator(creatorDTO);
+        if (versions.size() != task.getVersion() - sinceVersion) {
+            return null;
         }
+        return fields;
+    }
 
-        // Set last editor
-        if (task.getLastEditedBy() != null) {
-            User lastEditor = userRepository.findById(task.getLastEditedBy()).orElse(null);
-            if (lastEditor != null) {
-                UserDTO lastEditorDTO = new UserDTO(
-                        lastEditor.getId(),
-                        lastEditor.getEmail(),
-                        lastEditor.getName(),
-                        lastEditor.getAvatar()
-                );
-                taskDTO.setLastEditor(lastEditorDTO);
+    private Set<String> getPatchedFields(TaskPatchDTO patchDTO) {
+        Set<String> fields = new HashSet<>();
+        if (patchDTO.getTitle() != null) fields.add("title");
+        if (patchDTO.getDescription() != null) fields.add("description");
+        if (patchDTO.getStatus() != null) fields.add("status");
+        if (patchDTO.getPriority() != null) fields.add("priority");
+        if (patchDTO.getAssigneeId() != null) fields.add("assigneeId");
+        if (patchDTO.getStartDate() != null) fields.add("startDate");
+        if (patchDTO.getDueDate() != null) fields.add("dueDate");
+        if (patchDTO.getTags() != null) fields.add("tags");
+        if (patchDTO.getCustomFields() != null) fields.add("customFields");
+        return fields;
+    }
+
+    private TaskDTO convertToDTO(Task task) {
+        return convertToDTOs(Collections.singletonList(task)).get(0);
+    }
+
+    private List<TaskDTO> convertToDTOs(List<Task> tasks) {
+        return convertToDTOs(tasks, FieldSelection.ALL);
+    }
+
+    // Resolves the selected assignees, creators and last editors of all tasks with a single query
+    private List<TaskDTO> convertToDTOs(List<Task> tasks, FieldSelection fields) {
+        boolean withAssignee = fields.includes("assignee");
+        boolean withCreator = fields.includes("creator");
+        boolean withLastEditor = fields.includes("lastEditor");
+
+        Set<UUID> userIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (withAssignee && task.getAssigneeId() != null) userIds.add(task.getAssigneeId());
+            if (withCreator && task.getCreatedBy() != null) userIds.add(task.getCreatedBy());
+            if (withLastEditor && task.getLastEditedBy() != null) userIds.add(task.getLastEditedBy());
+        }
+
+        Map<UUID, UserDTO> users = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (User user : userRepository.findAllById(userIds)) {
+                users.put(user.getId(), new UserDTO(
+                        user.getId(),
+                        user.getEmail(),
+                        user.getName(),
+                        user.getAvatar()
+                ));
             }
         }
 
-        return taskDTO;
+        return tasks.stream().map(task -> {
+            TaskDTO taskDTO = new TaskDTO();
+            taskDTO.setId(task.getId());
+            taskDTO.setTitle(task.getTitle());
+            taskDTO.setDescription(task.getDescription());
+            taskDTO.setStatus(task.getStatus());
+            taskDTO.setPriority(task.getPriority());
+            taskDTO.setProjectId(task.getProjectId());
+            taskDTO.setAssigneeId(task.getAssigneeId());
+            taskDTO.setCreatedBy(task.getCreatedBy());
+            taskDTO.setRank(task.getRank());
+            taskDTO.setStartDate(task.getStartDate());
+            taskDTO.setDueDate(task.getDueDate());
+            taskDTO.setCreatedAt(task.getCreatedAt());
+            taskDTO.setUpdatedAt(task.getUpdatedAt());
+
+            // Set new fields
+            taskDTO.setVersion(task.getVersion());
+            taskDTO.setLastEditedBy(task.getLastEditedBy());
+            if (fields.includes("tags")) {
+                taskDTO.setTags(task.getTagsList());
+            }
+            if (fields.includes("customFields")) {
+                taskDTO.setCustomFields(task.getCustomFieldsMap());
+            }
+
+            // Set assignee, creator and last editor
+            if (withAssignee && task.getAssigneeId() != null) {
+                taskDTO.setAssignee(users.get(task.getAssigneeId()));
+            }
+            if (withCreator) {
+                taskDTO.setCreator(users.get(task.getCreatedBy()));
+            }
+            if (withLastEditor && task.getLastEditedBy() != null) {
+                taskDTO.setLastEditor(users.get(task.getLastEditedBy()));
+            }
+
+            return taskDTO;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Task attributes needed for the selected TaskDTO fields. A nested user needs the
+     * id column it is resolved from.
+     */
+    static Set<String> taskAttributes(FieldSelection fields) {
+        Set<String> attributes = new HashSet<>();
+        for (String field : TASK_FIELDS) {
+            if (fields.includes(field)) {
+                attributes.add(field);
+            }
+        }
+        if (fields.includes("assignee")) attributes.add("assigneeId");
+        if (fields.includes("creator")) attributes.add("createdBy");
+        if (fields.includes("lastEditor")) attributes.add("lastEditedBy");
+        return attributes;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.taskmanager.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.BoardDTO;
+import com.taskmanager.dto.FieldSelection;
+import com.taskmanager.dto.ProjectDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.model.MemberRole;
+import com.taskmanager.model.Priority;
+import com.taskmanager.model.Project;
+import com.taskmanager.model.ProjectMember;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.ProjectService;
+import com.taskmanager.service.TaskRank;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.web.SparseFieldsResponseBodyAdvice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the hot request paths before the application reports itself ready, so the
+ * first real requests after a deploy are not served by interpreted code. Each
+ * iteration does what a board or task list request does: JWT verification, the
+ * repository queries, DTO assembly and serialization, with and without fields= and
+ * the normalized shape.
+ *
+ * The synthetic project the iterations read is written in a transaction that is
+ * always rolled back, and the second-level cache is only read from, so nothing of it
+ * is visible outside the warm-up. Runners finish before Spring Boot switches
+ * readiness to ACCEPTING_TRAFFIC, so /actuator/health/readiness reports
+ * OUT_OF_SERVICE until the warm-up is done.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final FieldSelection TASK_FIELDS =
+            FieldSelection.parse("id,title,status,priority,rank,dueDate,assignee.name", TaskDTO.class);
+    private static final FieldSelection PROJECT_FIELDS = FieldSelection.parse("id,name,ownerId", ProjectDTO.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:300}")
+    private int iterations;
+
+    @Value("${warmup.users:10}")
+    private int userCount;
+
+    @Value("${warmup.tasks:200}")
+    private int taskCount;
+
+    @Value("${warmup.max-duration:60s}")
+    private Duration maxDuration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            Integer completed = transaction.execute(status -> {
+                status.setRollbackOnly();
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+                return warmUp(started + maxDuration.toNanos());
+            });
+            log.info("Warm-up ran {} iterations in {} ms", completed,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency, the application can serve requests regardless
+            log.warn("Warm-up failed after {} ms, continuing without it",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), e);
+        }
+    }
+
+    private int warmUp(long deadline) {
+        List<User> users = createUsers();
+        UUID projectId = createProject(users);
+        entityManager.flush();
+
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            UUID userId = users.get(completed % users.size()).getId();
+            authenticate(userId);
+
+            List<TaskDTO> tasks = taskService.getProjectTasks(projectId, userId);
+            List<TaskDTO> sparseTasks = taskService.getProjectTasks(projectId, userId, TASK_FIELDS);
+            BoardDTO board = taskService.getProjectBoard(projectId, null, null, null, userId);
+            List<ProjectDTO> projects = projectService.getUserProjects(userId, PROJECT_FIELDS);
+
+            serialize(tasks, FieldSelection.ALL, false);
+            serialize(sparseTasks, TASK_FIELDS, false);
+            serialize(sparseTasks, TASK_FIELDS, true);
+            serialize(board, FieldSelection.ALL, false);
+            serialize(projects, PROJECT_FIELDS, false);
+
+            // Every iteration reads and maps the rows again, as separate requests would
+            entityManager.clear();
+            completed++;
+        }
+        return completed;
+    }
+
+    // What JwtAuthenticationFilter does for every request
+    private void authenticate(UUID userId) {
+        String token = jwtUtil.generateToken(userId.toString());
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtil.extractUsername(token));
+        if (!jwtUtil.validateToken(token, userDetails)) {
+            throw new IllegalStateException("Warm-up token was rejected.");
+        }
+    }
+
+    private void serialize(Object body, FieldSelection fields, boolean normalized) {
+        try {
+            if (fields.isAll() && !normalized) {
+                objectMapper.writeValueAsBytes(body);
+            } else {
+                objectMapper.writer(SparseFieldsResponseBodyAdvice.filters(fields, normalized))
+                        .writeValueAsBytes(normalized ? SparseFieldsResponseBodyAdvice.normalize(body) : body);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up serialization failed.", e);
+        }
+    }
+
+    private List<User> createUsers() {
+        String run = UUID.randomUUID().toString();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            // Never logged in with, so the password does not need to be a real hash
+            users.add(new User("warmup-" + run + "-" + i + "@warmup.invalid", "-", "Warm-up User " + i));
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private UUID createProject(List<User> users) {
+        UUID ownerId = users.get(0).getId();
+        Project project = projectRepository.save(new Project("Warm-up", "Synthetic warm-up project", ownerId));
+
+        List<ProjectMember> members = new ArrayList<>();
+        for (User user : users) {
+            members.add(new ProjectMember(project.getId(), user.getId(),
+                    user.getId().equals(ownerId) ? MemberRole.OWNER : MemberRole.MEMBER));
+        }
+        projectMemberRepository.saveAll(members);
+
+        String[] ranks = TaskRank.spaced(taskCount);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Warm-up task " + i, "Synthetic warm-up task " + i, STATUSES[i % STATUSES.length],
+                    PRIORITIES[i % PRIORITIES.length], project.getId(), users.get(i % users.size()).getId(),
+                    ownerId, now, now.plusDays(i % 30));
+            task.setRank(ranks[i]);
+            task.setTags("[\"warmup\"]");
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        return project.getId();
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose response is limited to the fields= request parameter. The
+ * value is the DTO the field paths are relative to; the handler itself parses the
+ * parameter into a FieldSelection to skip the loads nobody asked for.
+ *
+ * The same handlers can return the normalized shape with normalized=true, where
+ * nested users are replaced by their IDs and listed once per response.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SparseFields {
+
+    String PARAMETER = "fields";
+
+    String NORMALIZED_PARAMETER = "normalized";
+
+    Class<?> value();
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.web;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.dto.ProjectDTO;
+import com.taskmanager.dto.ProjectMemberDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.UserDTO;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Puts the DTOs that fields= can reach behind a property filter. Responses without
+ * a selection use the default filter, which writes every property. The filter is
+ * added through mix-ins so mappers built outside Spring, such as the benchmarks',
+ * keep serializing the DTOs without a filter provider.
+ */
+@Configuration
+@ImportRuntimeHints(SparseFieldsConfig.DeclaredFieldsHints.class)
+public class SparseFieldsConfig {
+
+    static final String FILTER_ID = "sparseFields";
+
+    static final List<Class<?>> FILTERED_TYPES =
+            List.of(TaskDTO.class, ProjectDTO.class, ProjectMemberDTO.class, UserDTO.class);
+
+    @JsonFilter(FILTER_ID)
+    private interface SparseFieldsMixIn {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> {
+            for (Class<?> type : FILTERED_TYPES) {
+                builder.mixIn(type, SparseFieldsMixIn.class);
+            }
+            builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+        };
+    }
+
+    // FieldSelection checks requested fields against the declared fields of the DTOs,
+    // which a native image only keeps when they are registered for reflection
+    static class DeclaredFieldsHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : FILTERED_TYPES) {
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.taskmanager.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.dto.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.*;
+
+/**
+ * Limits the bodies of @SparseFields handlers to the fields= selection and, with
+ * normalized=true, moves nested users into a users map written once per response.
+ * Works for JSON, Smile and CBOR alike, since all of them are Jackson converters.
+ */
+@RestControllerAdvice
+public class SparseFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    // Nested user properties and the ID properties that reference the same user
+    private static final Map<String, String> USER_REFERENCES = Map.of(
+            "assignee", "assigneeId",
+            "creator", "createdBy",
+            "lastEditor", "lastEditedBy",
+            "owner", "ownerId",
+            "user", "userId");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(SparseFields.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        SparseFields sparseFields = returnType.getMethodAnnotation(SparseFields.class);
+
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(servletRequest.getParameter(SparseFields.PARAMETER), sparseFields.value());
+        } catch (IllegalArgumentException e) {
+            // The handler already answered with 400, there is nothing to filter
+            return;
+        }
+        boolean normalized = Boolean.parseBoolean(servletRequest.getParameter(SparseFields.NORMALIZED_PARAMETER));
+
+        if (normalized) {
+            bodyContainer.setValue(normalize(bodyContainer.getValue()));
+        }
+        if (normalized || !selection.isAll()) {
+            bodyContainer.setFilters(filters(selection, normalized));
+        }
+    }
+
+    /**
+     * Wraps a body in the normalized shape. It has to be written with filters(selection, true).
+     */
+    public static NormalizedResponse normalize(Object body) {
+        Map<UUID, UserDTO> users = new LinkedHashMap<>();
+        collectUsers(body, users);
+        return new NormalizedResponse(body, users);
+    }
+
+    public static FilterProvider filters(FieldSelection selection, boolean normalized) {
+        return new SimpleFilterProvider().addFilter(SparseFieldsConfig.FILTER_ID, new SelectionFilter(selection, normalized));
+    }
+
+    // Users are only set when they were selected, so the map holds exactly the users written before
+    private static void collectUsers(Object value, Map<UUID, UserDTO> users) {
+        if (value instanceof Collection<?> collection) {
+            for (Object element : collection) {
+                collectUsers(element, users);
+            }
+        } else if (value instanceof BoardDTO board) {
+            collectUsers(board.getColumns(), users);
+        } else if (value instanceof BoardColumnDTO column) {
+            collectUsers(column.getTasks(), users);
+        } else if (value instanceof AssignedTasksDTO page) {
+            collectUsers(page.getTasks(), users);
+        } else if (value instanceof ProjectDTO project) {
+            addUser(project.getOwner(), users);
+            collectUsers(project.getMembers(), users);
+            collectUsers(project.getTasks(), users);
+        } else if (value instanceof ProjectMemberDTO member) {
+            addUser(member.getUser(), users);
+        } else if (value instanceof TaskDTO task) {
+            addUser(task.getAssignee(), users);
+            addUser(task.getCreator(), users);
+            addUser(task.getLastEditor(), users);
+        }
+    }
+
+    private static void addUser(UserDTO user, Map<UUID, UserDTO> users) {
+        if (user != null) {
+            users.putIfAbsent(user.getId(), user);
+        }
+    }
+
+    /**
+     * Writes a property only if its path from the outermost filtered object is
+     * selected. Wrappers that are not filtered, like the board and its columns, are
+     * where paths start.
+     *
+     * When normalizing, nested users are left out and the ID referencing a selected
+     * user is written instead; users in the users map are written in full.
+     */
+    private static class SelectionFilter extends SimpleBeanPropertyFilter {
+
+        private final FieldSelection selection;
+        private final boolean normalized;
+
+        SelectionFilter(FieldSelection selection, boolean normalized) {
+            this.selection = selection;
+            this.normalized = normalized;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (include(pojo, jgen, writer)) {
+                writer.serializeAsField(pojo, jgen, provider);
+            } else if (!jgen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, jgen, provider);
+            }
+        }
+
+        private boolean include(Object pojo, JsonGenerator jgen, PropertyWriter writer) {
+            if (selection.isAll()) {
+                // Only nested users are left out, no path needed
+                return !normalized || writer.getType().getRawClass() != UserDTO.class;
+            }
+            List<String> path = path(jgen.getOutputContext());
+            if (normalized) {
+                if (path.isEmpty() && pojo instanceof UserDTO) {
+                    return true;
+                }
+                if (writer.getType().getRawClass() == UserDTO.class) {
+                    return false;
+                }
+                for (Map.Entry<String, String> reference : USER_REFERENCES.entrySet()) {
+                    if (reference.getValue().equals(writer.getName()) && includes(path, reference.getKey())) {
+                        return true;
+                    }
+                }
+            }
+            return includes(path, writer.getName());
+        }
+
+        private boolean includes(List<String> path, String name) {
+            List<String> fieldPath = new ArrayList<>(path);
+            fieldPath.add(name);
+            return selection.includesPath(fieldPath);
+        }
+
+        // Property names leading from the outermost filtered object down to the current one
+        private List<String> path(JsonStreamContext context) {
+            List<String> path = new ArrayList<>();
+            for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+                if (!parent.inObject()) {
+                    continue;
+                }
+                if (!isFiltered(parent.getCurrentValue())) {
+                    break;
+                }
+                path.add(parent.getCurrentName());
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        private boolean isFiltered(Object value) {
+            return value != null && SparseFieldsConfig.FILTERED_TYPES.contains(value.getClass());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+-- Tables as they were before V1, when Hibernate still created the schema. Fresh
+-- databases start here; databases created by Hibernate are baselined past V5
+-- instead (see spring.flyway.baseline-version).
+CREATE TABLE users (
+    id UUID PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    avatar VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE projects (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    owner_id UUID NOT NULL REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE project_members (
+    id UUID PRIMARY KEY,
+    project_id UUID NOT NULL REFERENCES projects (id),
+    user_id UUID NOT NULL REFERENCES users (id),
+    role VARCHAR(255) NOT NULL CHECK (role IN ('OWNER', 'MEMBER', 'VIEWER')),
+    joined_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE tasks (
+    id UUID PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    priority VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    project_id UUID NOT NULL REFERENCES projects (id),
+    assignee_id UUID REFERENCES users (id),
+    created_by UUID NOT NULL REFERENCES users (id),
+    start_date TIMESTAMP(6),
+    due_date TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
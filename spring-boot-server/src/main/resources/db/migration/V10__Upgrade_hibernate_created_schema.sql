@@ -0,0 +1,139 @@
+-- Databases created by Hibernate before Flyway was introduced are baselined at V5, so
+-- V1 to V5 never ran against them: Hibernate created the columns, but task_history is
+-- not partitioned, project_id is not backfilled and tasks.rank may be NULL, without
+-- the "C" collation or its index. Every step checks whether it is still needed, so on
+-- a database built from V0 onwards this migration changes nothing.
+
+-- V1
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 1;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS last_edited_by UUID;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS tags TEXT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS custom_fields TEXT;
+
+-- V3 and V4, before V2 so the partitioned table is created with these columns
+ALTER TABLE task_history ADD COLUMN IF NOT EXISTS project_id UUID;
+ALTER TABLE task_history ADD COLUMN IF NOT EXISTS task_version INT;
+
+-- V2
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE;
+    month_start DATE;
+    legacy_pkey NAME;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'task_history' AND c.relnamespace = 'public'::regnamespace) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE task_history RENAME TO task_history_legacy;
+    -- Frees the name for the new table's primary key
+    SELECT conname INTO legacy_pkey FROM pg_constraint
+    WHERE conrelid = 'task_history_legacy'::regclass AND contype = 'p';
+    IF legacy_pkey IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE task_history_legacy RENAME CONSTRAINT %I TO task_history_legacy_pkey', legacy_pkey);
+    END IF;
+
+    CREATE TABLE task_history (
+        id UUID NOT NULL DEFAULT gen_random_uuid(),
+        task_id UUID NOT NULL,
+        project_id UUID,
+        field_name VARCHAR(255) NOT NULL,
+        old_value TEXT,
+        new_value TEXT,
+        changed_by UUID NOT NULL,
+        change_type VARCHAR(50) NOT NULL,
+        changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        description TEXT,
+        task_version INT,
+        PRIMARY KEY (id, changed_at)
+    ) PARTITION BY RANGE (changed_at);
+
+    SELECT date_trunc('month', COALESCE(MIN(changed_at), CURRENT_TIMESTAMP))::DATE
+      INTO first_month FROM task_history_legacy;
+    last_month := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '2 months')::DATE;
+
+    month_start := first_month;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF task_history FOR VALUES FROM (%L) TO (%L)',
+                       'task_history_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+
+    INSERT INTO task_history (id, task_id, project_id, field_name, old_value, new_value, changed_by,
+                              change_type, changed_at, description, task_version)
+    SELECT id, task_id, project_id, field_name, old_value, new_value, changed_by,
+           change_type, changed_at, description, task_version
+    FROM task_history_legacy;
+
+    DROP TABLE task_history_legacy;
+END $$;
+
+DROP INDEX IF EXISTS idx_task_history_task_id;
+DROP INDEX IF EXISTS idx_task_history_changed_at;
+DROP INDEX IF EXISTS idx_task_history_changed_by;
+CREATE INDEX IF NOT EXISTS idx_task_history_task_id_changed_at ON task_history (task_id, changed_at DESC);
+
+-- V3
+UPDATE task_history th
+SET project_id = t.project_id
+FROM tasks t
+WHERE t.id = th.task_id AND th.project_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_task_history_project_id_changed_at
+    ON task_history (project_id, changed_at DESC, id DESC);
+
+-- V5
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS rank VARCHAR(255) COLLATE "C";
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_attribute a
+               JOIN pg_class c ON c.oid = a.attrelid
+               WHERE c.relname = 'tasks' AND c.relnamespace = 'public'::regnamespace
+                 AND a.attname = 'rank' AND a.attcollation <> 'pg_catalog."C"'::regcollation) THEN
+        ALTER TABLE tasks ALTER COLUMN rank TYPE VARCHAR(255) COLLATE "C";
+    END IF;
+END $$;
+
+-- Cards without a rank go first in creation order; ranks this hands out twice in a
+-- column are spread out again by TaskRankRebalancer
+UPDATE tasks t
+SET rank = ranked.rank
+FROM (
+    SELECT id, lpad(row_number() OVER (PARTITION BY project_id, status ORDER BY created_at, id)::TEXT, 10, '0') || 'i' AS rank
+    FROM tasks
+    WHERE rank IS NULL
+) ranked
+WHERE t.id = ranked.id;
+
+ALTER TABLE tasks ALTER COLUMN rank SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_rank ON tasks (project_id, status, rank);
+
+-- Fails the migration, and with it the startup, if the schema still differs from V5's
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table pt
+                   JOIN pg_class c ON c.oid = pt.partrelid
+                   WHERE c.relname = 'task_history' AND c.relnamespace = 'public'::regnamespace) THEN
+        RAISE EXCEPTION 'task_history is not partitioned';
+    END IF;
+    IF EXISTS (SELECT 1 FROM task_history th JOIN tasks t ON t.id = th.task_id WHERE th.project_id IS NULL) THEN
+        RAISE EXCEPTION 'task_history.project_id is not backfilled';
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_attribute a
+                   JOIN pg_class c ON c.oid = a.attrelid
+                   WHERE c.relname = 'tasks' AND c.relnamespace = 'public'::regnamespace
+                     AND a.attname = 'rank' AND a.attnotnull
+                     AND a.attcollation = 'pg_catalog."C"'::regcollation) THEN
+        RAISE EXCEPTION 'tasks.rank is not NOT NULL with the "C" collation';
+    END IF;
+END $$;
+
+ANALYZE tasks;
+ANALYZE task_history;
@@ -0,0 +1,18 @@
+-- Board columns waiting for TaskRankRebalancer. Writes that leave a rank longer than
+-- task.rank.max-length flag their column here, so the periodic run only reads this
+-- table instead of aggregating every rank in tasks. No foreign key to projects, the
+-- purge of a deleted project removes the project row while a flag may still exist.
+CREATE TABLE IF NOT EXISTS task_rank_rebalances (
+    project_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    flagged_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (project_id, status)
+);
+
+-- Columns that already need a rebalance, such as duplicate ranks left by V5 or V10.
+-- 24 is the default task.rank.max-length.
+INSERT INTO task_rank_rebalances (project_id, status)
+SELECT project_id, status FROM tasks
+GROUP BY project_id, status
+HAVING MAX(LENGTH(rank)) > 24 OR COUNT(DISTINCT rank) < COUNT(*)
+ON CONFLICT DO NOTHING;
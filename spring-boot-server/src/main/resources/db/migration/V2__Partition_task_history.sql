@@ -0,0 +1,63 @@
+-- Convert task_history into a table range-partitioned by month on changed_at.
+-- Monthly partitions are created ahead of time by TaskHistoryPartitionService,
+-- which also detaches and archives partitions older than the retention window.
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE;
+    month_start DATE;
+BEGIN
+    -- Skip if task_history is already partitioned
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'task_history' AND c.relnamespace = 'public'::regnamespace) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE task_history RENAME TO task_history_legacy;
+    DROP INDEX IF EXISTS idx_task_history_task_id;
+    DROP INDEX IF EXISTS idx_task_history_changed_at;
+    DROP INDEX IF EXISTS idx_task_history_changed_by;
+
+    -- The partition key has to be part of the primary key
+    CREATE TABLE task_history (
+        id UUID NOT NULL DEFAULT gen_random_uuid(),
+        task_id UUID NOT NULL,
+        field_name VARCHAR(255) NOT NULL,
+        old_value TEXT,
+        new_value TEXT,
+        changed_by UUID NOT NULL,
+        change_type VARCHAR(50) NOT NULL,
+        changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        description TEXT,
+        PRIMARY KEY (id, changed_at)
+    ) PARTITION BY RANGE (changed_at);
+
+    -- One partition per month from the oldest row up to two months ahead
+    SELECT date_trunc('month', COALESCE(MIN(changed_at), CURRENT_TIMESTAMP))::DATE
+      INTO first_month FROM task_history_legacy;
+    last_month := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '2 months')::DATE;
+
+    month_start := first_month;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF task_history FOR VALUES FROM (%L) TO (%L)',
+                       'task_history_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+
+    INSERT INTO task_history (id, task_id, field_name, old_value, new_value, changed_by,
+                              change_type, changed_at, description)
+    SELECT id, task_id, field_name, old_value, new_value, changed_by,
+           change_type, changed_at, description
+    FROM task_history_legacy;
+
+    DROP TABLE task_history_legacy;
+END $$;
+
+-- History is always read per task, newest first. A single composite index
+-- replaces the three single-column indexes from V1; changed_at lookups are
+-- served by partition pruning instead.
+CREATE INDEX IF NOT EXISTS idx_task_history_task_id_changed_at ON task_history (task_id, changed_at DESC);
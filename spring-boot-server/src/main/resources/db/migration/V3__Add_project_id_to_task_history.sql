@@ -0,0 +1,11 @@
+-- Denormalize project_id onto task_history so a project's activity feed can be
+-- read from one index instead of joining through tasks
+ALTER TABLE task_history ADD COLUMN IF NOT EXISTS project_id UUID;
+
+UPDATE task_history th
+SET project_id = t.project_id
+FROM tasks t
+WHERE t.id = th.task_id AND th.project_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_task_history_project_id_changed_at
+    ON task_history (project_id, changed_at DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Record the task version produced by each change so conditional PATCH requests
+-- can tell which fields were modified since the version the client last saw
+ALTER TABLE task_history ADD COLUMN IF NOT EXISTS task_version INT;
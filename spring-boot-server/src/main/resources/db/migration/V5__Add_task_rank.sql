@@ -0,0 +1,16 @@
+-- Persisted card order inside a board column. Ranks are compared bytewise, hence
+-- the "C" collation; see TaskRank for the format.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS rank VARCHAR(255) COLLATE "C";
+
+-- Existing cards keep their creation order: fixed-width decimal ranks ending in 'i'
+UPDATE tasks t
+SET rank = ranked.rank
+FROM (
+    SELECT id, lpad(row_number() OVER (PARTITION BY project_id, status ORDER BY created_at, id)::TEXT, 10, '0') || 'i' AS rank
+    FROM tasks
+) ranked
+WHERE t.id = ranked.id AND t.rank IS NULL;
+
+ALTER TABLE tasks ALTER COLUMN rank SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_rank ON tasks (project_id, status, rank);
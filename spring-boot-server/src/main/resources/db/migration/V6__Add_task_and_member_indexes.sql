@@ -0,0 +1,16 @@
+-- Indexes behind the hot task and project member lookups. perf-tools' plan-check.sh
+-- runs EXPLAIN on the repository queries and fails when one of them scans a whole table.
+
+-- Task lists of a project, newest first. The leading project_id also serves plain
+-- project lookups, so there is no separate single-column index on it.
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id_created_at ON tasks (project_id, created_at DESC);
+
+-- Tasks assigned to a user, and the foreign key check when a user is deleted
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id ON tasks (assignee_id);
+
+-- Membership checks behind every project and task access check
+CREATE INDEX IF NOT EXISTS idx_project_members_project_id_user_id ON project_members (project_id, user_id);
+
+-- Projects of a user, as a member and as the owner
+CREATE INDEX IF NOT EXISTS idx_project_members_user_id_project_id ON project_members (user_id, project_id);
+CREATE INDEX IF NOT EXISTS idx_projects_owner_id ON projects (owner_id);
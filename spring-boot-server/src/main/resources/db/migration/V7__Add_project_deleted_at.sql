@@ -0,0 +1,9 @@
+-- Deleting a project only sets deleted_at; ProjectPurgeService removes its tasks,
+-- members and history in batches afterwards and finally the project row itself.
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- Projects still waiting to be purged, usually none
+CREATE INDEX IF NOT EXISTS idx_projects_deleted_at ON projects (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Without statistics on the new column the planner assumes most projects are deleted
+ANALYZE projects;
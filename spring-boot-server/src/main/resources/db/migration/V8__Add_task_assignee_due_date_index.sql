@@ -0,0 +1,4 @@
+-- The assigned tasks view pages through a user's tasks by due date. The new index
+-- also serves the assignee foreign key check, so the single-column one goes.
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id_due_date ON tasks (assignee_id, due_date);
+DROP INDEX IF EXISTS idx_tasks_assignee_id;
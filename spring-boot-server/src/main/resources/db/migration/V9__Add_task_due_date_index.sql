@@ -0,0 +1,3 @@
+-- DueDateScheduler reads the open tasks due within its window in (due_date, id)
+-- order. Done tasks never get reminders, so they are left out of the index.
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date, id) WHERE status <> 'DONE';